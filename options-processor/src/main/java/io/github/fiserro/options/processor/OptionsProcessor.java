@@ -0,0 +1,417 @@
+package io.github.fiserro.options.processor;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic.Kind;
+
+/**
+ * Generates the implementations of the Options interfaces at compile time, so the
+ * {@code OptionsFactory} does not need to generate them by ByteBuddy at runtime.
+ * <p>For every interface extending {@code Options} with at least one {@code @Option} it generates:
+ * <ul>
+ *   <li>{@code <Name>_Impl} - the implementation with one typed final field per option and the
+ *   cached values of the {@code @Derived} methods</li>
+ *   <li>{@code <Name>_Builder} - the typed builder setting the options by their setters</li>
+ * </ul>
+ * <p>The name of the nested interface is flattened, so the implementation of
+ * {@code com.example.App.Config} is {@code com.example.App_Config_Impl}. The
+ * {@code OptionsFactory} uses the generated implementation when it exists and falls back to the
+ * runtime generated one otherwise.
+ */
+@SupportedAnnotationTypes("*")
+public class OptionsProcessor extends AbstractProcessor {
+
+  private static final String OPTIONS = "io.github.fiserro.options.Options";
+  private static final String OPTION = "io.github.fiserro.options.Option";
+  private static final String DERIVED = "io.github.fiserro.options.Derived";
+  private static final String IMPLEMENTATION_SUFFIX = "_Impl";
+  private static final String BUILDER_SUFFIX = "_Builder";
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+    TypeElement options = processingEnv.getElementUtils().getTypeElement(OPTIONS);
+    if (options == null) {
+      return false;
+    }
+    List<TypeElement> interfaces = new ArrayList<>();
+    ElementFilter.typesIn(roundEnv.getRootElements())
+        .forEach(type -> collectOptionsInterfaces(type, options, interfaces));
+    for (TypeElement optionsInterface : interfaces) {
+      try {
+        generate(optionsInterface);
+      } catch (IOException e) {
+        processingEnv.getMessager().printMessage(Kind.ERROR,
+            "Cannot generate options implementation: " + e.getMessage(), optionsInterface);
+      }
+    }
+    return false;
+  }
+
+  private void collectOptionsInterfaces(TypeElement type, TypeElement options,
+      List<TypeElement> interfaces) {
+    if (type.getModifiers().contains(Modifier.PRIVATE)) {
+      return;
+    }
+    if (type.getKind() == ElementKind.INTERFACE
+        && type.getTypeParameters().isEmpty()
+        && !type.equals(options)
+        && processingEnv.getTypeUtils().isAssignable(
+        processingEnv.getTypeUtils().erasure(type.asType()),
+        processingEnv.getTypeUtils().erasure(options.asType()))
+        && !optionGetters(type).isEmpty()) {
+      interfaces.add(type);
+    }
+    ElementFilter.typesIn(type.getEnclosedElements())
+        .forEach(nested -> collectOptionsInterfaces(nested, options, interfaces));
+  }
+
+  /**
+   * Returns the option getters of the interface including the inherited ones. The most specific
+   * declaration wins when the option is declared more times in the hierarchy.
+   */
+  private Map<String, ExecutableElement> optionGetters(TypeElement type) {
+    Map<String, ExecutableElement> getters = new LinkedHashMap<>();
+    for (ExecutableElement method : methods(type)) {
+      if (method.getParameters().isEmpty() && isOption(method)) {
+        getters.putIfAbsent(method.getSimpleName().toString(), method);
+      }
+    }
+    return getters;
+  }
+
+  private List<ExecutableElement> methods(TypeElement type) {
+    return ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(type)).stream()
+        .filter(m -> !m.getModifiers().contains(Modifier.STATIC))
+        .filter(m -> m.getEnclosingElement().getKind() == ElementKind.INTERFACE)
+        .filter(m -> !((TypeElement) m.getEnclosingElement()).getQualifiedName()
+            .contentEquals(OPTIONS))
+        .toList();
+  }
+
+  private boolean isOption(ExecutableElement method) {
+    return method.getAnnotationMirrors().stream()
+        .anyMatch(a -> ((TypeElement) a.getAnnotationType().asElement()).getQualifiedName()
+            .contentEquals(OPTION));
+  }
+
+  /**
+   * Returns true if the method is a default method with the cached {@code @Derived} value.
+   */
+  private boolean isCachedDerived(ExecutableElement method) {
+    if (!method.isDefault() || !method.getParameters().isEmpty()
+        || method.getReturnType().getKind() == TypeKind.VOID || isOption(method)) {
+      return false;
+    }
+    return method.getAnnotationMirrors().stream()
+        .filter(a -> ((TypeElement) a.getAnnotationType().asElement()).getQualifiedName()
+            .contentEquals(DERIVED))
+        .flatMap(a -> processingEnv.getElementUtils().getElementValuesWithDefaults(a).entrySet()
+            .stream())
+        .anyMatch(e -> e.getKey().getSimpleName().contentEquals("cached")
+            && Boolean.TRUE.equals(e.getValue().getValue()));
+  }
+
+  private boolean isWither(ExecutableElement method) {
+    return method.getSimpleName().toString().startsWith("with")
+        && method.getSimpleName().length() > 4
+        && method.getParameters().size() == 1
+        && method.getModifiers().contains(Modifier.ABSTRACT);
+  }
+
+  /**
+   * Returns the name of the option set by the wither, e.g. {@code port} of {@code withPort}.
+   */
+  private static String nameOfWither(ExecutableElement wither) {
+    String name = wither.getSimpleName().toString().substring(4);
+    return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+  }
+
+  private boolean isObjectMethod(ExecutableElement method) {
+    TypeElement object = processingEnv.getElementUtils().getTypeElement("java.lang.Object");
+    return ElementFilter.methodsIn(object.getEnclosedElements()).stream()
+        .anyMatch(m -> m.getSimpleName().equals(method.getSimpleName())
+            && m.getParameters().size() == method.getParameters().size());
+  }
+
+  /**
+   * Reports the abstract methods the implementation cannot implement: they are neither the option
+   * getters nor the withers of the options.
+   *
+   * @return true if the interface has no such methods
+   */
+  private boolean checkMethods(TypeElement optionsInterface,
+      Map<String, ExecutableElement> getters) {
+    boolean valid = true;
+    for (ExecutableElement method : methods(optionsInterface)) {
+      if (method.getModifiers().contains(Modifier.ABSTRACT)
+          && !getters.containsKey(method.getSimpleName().toString())
+          && !isObjectMethod(method) && !isWither(method)) {
+        processingEnv.getMessager().printMessage(Kind.ERROR, method.getSimpleName()
+            + " is neither an option nor a wither of "
+            + optionsInterface.getQualifiedName(), method);
+        valid = false;
+      } else if (isWither(method) && !getters.containsKey(nameOfWither(method))) {
+        processingEnv.getMessager().printMessage(Kind.ERROR, method.getSimpleName()
+            + " is a wither of the missing option " + nameOfWither(method) + " of "
+            + optionsInterface.getQualifiedName(), method);
+        valid = false;
+      }
+    }
+    return valid;
+  }
+
+  private void generate(TypeElement optionsInterface) throws IOException {
+    if (!checkMethods(optionsInterface, optionGetters(optionsInterface))) {
+      return;
+    }
+    String packageName = ((PackageElement) processingEnv.getElementUtils()
+        .getPackageOf(optionsInterface)).getQualifiedName().toString();
+    String flatName = flatName(optionsInterface);
+    String interfaceName = optionsInterface.getQualifiedName().toString();
+    DeclaredType interfaceType = (DeclaredType) optionsInterface.asType();
+    Map<String, ExecutableElement> getters = optionGetters(optionsInterface);
+
+    try (PrintWriter out = new PrintWriter(processingEnv.getFiler()
+        .createSourceFile(qualified(packageName, flatName + IMPLEMENTATION_SUFFIX), optionsInterface)
+        .openWriter())) {
+      writeImplementation(out, packageName, flatName + IMPLEMENTATION_SUFFIX, interfaceName,
+          interfaceType, getters, methods(optionsInterface));
+    }
+    try (PrintWriter out = new PrintWriter(processingEnv.getFiler()
+        .createSourceFile(qualified(packageName, flatName + BUILDER_SUFFIX), optionsInterface)
+        .openWriter())) {
+      writeBuilder(out, packageName, flatName + BUILDER_SUFFIX, interfaceName, interfaceType,
+          getters);
+    }
+  }
+
+  private void writeImplementation(PrintWriter out, String packageName, String className,
+      String interfaceName, DeclaredType interfaceType, Map<String, ExecutableElement> getters,
+      List<ExecutableElement> methods) {
+    writePackage(out, packageName);
+    out.println("@javax.annotation.processing.Generated(\"" + getClass().getName() + "\")");
+    out.println("public final class " + className
+        + " extends io.github.fiserro.options.AbstractOptions<" + interfaceName + "> implements "
+        + interfaceName + " {");
+    out.println();
+
+    List<ExecutableElement> derived = methods.stream()
+        .filter(this::isCachedDerived)
+        .filter(m -> !getters.containsKey(m.getSimpleName().toString()))
+        .toList();
+    if (!derived.isEmpty()) {
+      out.println("  private static final Object NULL_VALUE = new Object();");
+      out.println();
+      out.println("  private final Object derived$lock = new Object();");
+    }
+    getters.forEach((name, getter) -> {
+      TypeMirror type = returnType(interfaceType, getter);
+      out.println("  private final " + type + " " + name + ";");
+      if (isDefaultPrimitive(getter, type)) {
+        out.println("  private final boolean " + name + "$set;");
+      }
+    });
+    derived.forEach(method -> out.println("  private volatile Object " + method.getSimpleName()
+        + "$derived;"));
+    out.println();
+
+    out.println("  @SuppressWarnings(\"unchecked\")");
+    out.println("  public " + className + "(Class<" + interfaceName + "> optionsClass,");
+    out.println("      java.util.Map<io.github.fiserro.options.OptionDef, Object> values,");
+    out.println("      java.util.Map<String, io.github.fiserro.options.OptionDef> options,");
+    out.println("      java.util.List<io.github.fiserro.options.extension.OptionsExtension> "
+        + "dynamicExtensions) {");
+    out.println("    super(optionsClass, values, options, dynamicExtensions);");
+    getters.forEach((name, getter) -> {
+      TypeMirror type = returnType(interfaceType, getter);
+      String value = "fieldValue(\"" + name + "\")";
+      if (isDefaultPrimitive(getter, type)) {
+        out.println("    this." + name + "$set = " + value + " != null;");
+        out.println("    this." + name + " = this." + name + "$set ? (" + type + ") " + value + " : "
+            + primitiveDefault(type) + ";");
+      } else if (type.getKind().isPrimitive()) {
+        out.println("    this." + name + " = " + value + " == null ? " + primitiveDefault(type)
+            + " : (" + type + ") " + value + ";");
+      } else {
+        out.println("    this." + name + " = (" + type + ") " + value + ";");
+      }
+    });
+    out.println("  }");
+
+    getters.forEach((name, getter) -> {
+      TypeMirror type = returnType(interfaceType, getter);
+      out.println();
+      out.println("  @Override");
+      out.println("  public " + type + " " + name + "() {");
+      if (isDefaultPrimitive(getter, type)) {
+        out.println("    return " + name + "$set ? " + name + " : " + interfaceName + ".super."
+            + name + "();");
+      } else if (getter.isDefault()) {
+        out.println("    return " + name + " != null ? " + name + " : " + interfaceName + ".super."
+            + name + "();");
+      } else {
+        out.println("    return " + name + ";");
+      }
+      out.println("  }");
+    });
+
+    for (ExecutableElement method : derived) {
+      String name = method.getSimpleName().toString();
+      TypeMirror type = returnType(interfaceType, method);
+      out.println();
+      out.println("  @Override");
+      out.println("  @SuppressWarnings(\"unchecked\")");
+      out.println("  public " + type + " " + name + "() {");
+      out.println("    Object value = " + name + "$derived;");
+      out.println("    if (value == null) {");
+      out.println("      synchronized (derived$lock) {");
+      out.println("        value = " + name + "$derived;");
+      out.println("        if (value == null) {");
+      out.println("          " + type + " computed = " + interfaceName + ".super." + name + "();");
+      if (type.getKind().isPrimitive()) {
+        out.println("          value = computed;");
+      } else {
+        out.println("          value = computed == null ? NULL_VALUE : computed;");
+      }
+      out.println("          " + name + "$derived = value;");
+      out.println("        }");
+      out.println("      }");
+      out.println("    }");
+      if (type.getKind().isPrimitive()) {
+        out.println("    return (" + type + ") value;");
+      } else {
+        out.println("    return value == NULL_VALUE ? null : (" + type + ") value;");
+      }
+      out.println("  }");
+    }
+
+    for (ExecutableElement method : methods) {
+      if (!method.getModifiers().contains(Modifier.ABSTRACT)
+          || getters.containsKey(method.getSimpleName().toString())
+          || isObjectMethod(method)) {
+        continue;
+      }
+      ExecutableType type = (ExecutableType) processingEnv.getTypeUtils()
+          .asMemberOf(interfaceType, method);
+      List<String> parameters = new ArrayList<>();
+      for (int i = 0; i < type.getParameterTypes().size(); i++) {
+        parameters.add(type.getParameterTypes().get(i) + " arg" + i);
+      }
+      out.println();
+      out.println("  @Override");
+      out.println("  public " + type.getReturnType() + " " + method.getSimpleName() + "("
+          + String.join(", ", parameters) + ") {");
+      // the other abstract methods are reported by checkMethods
+      out.println("    return withValue(\"" + nameOfWither(method) + "\", arg0);");
+      out.println("  }");
+    }
+    out.println("}");
+  }
+
+  private void writeBuilder(PrintWriter out, String packageName, String className,
+      String interfaceName, DeclaredType interfaceType, Map<String, ExecutableElement> getters) {
+    TypeElement options = processingEnv.getElementUtils().getTypeElement(OPTIONS);
+    writePackage(out, packageName);
+    out.println("/**");
+    out.println(" * Typed builder of the {@link " + interfaceName + "}.");
+    out.println(" */");
+    out.println("@javax.annotation.processing.Generated(\"" + getClass().getName() + "\")");
+    out.println("public final class " + className + " {");
+    out.println();
+    out.println("  private final io.github.fiserro.options.OptionsBuilder<" + interfaceName
+        + ", ?> builder;");
+    out.println();
+    out.println("  public " + className + "(" + interfaceName + " options) {");
+    out.println("    this.builder = options.toBuilder();");
+    out.println("  }");
+
+    getters.forEach((name, getter) -> {
+      TypeMirror type = returnType(interfaceType, getter);
+      if (type.getKind() == TypeKind.DECLARED && processingEnv.getTypeUtils().isAssignable(
+          processingEnv.getTypeUtils().erasure(type),
+          processingEnv.getTypeUtils().erasure(options.asType()))) {
+        // nested options are set through their own builders
+        return;
+      }
+      out.println();
+      out.println("  public " + className + " " + name + "(" + type + " " + name + ") {");
+      out.println("    builder.setValue(\"" + name + "\", " + name + ");");
+      out.println("    return this;");
+      out.println("  }");
+    });
+
+    out.println();
+    out.println("  public " + interfaceName + " build() {");
+    out.println("    return builder.build();");
+    out.println("  }");
+    out.println("}");
+  }
+
+  private static void writePackage(PrintWriter out, String packageName) {
+    if (!packageName.isEmpty()) {
+      out.println("package " + packageName + ";");
+      out.println();
+    }
+  }
+
+  private TypeMirror returnType(DeclaredType interfaceType, ExecutableElement getter) {
+    return ((ExecutableType) processingEnv.getTypeUtils().asMemberOf(interfaceType, getter))
+        .getReturnType();
+  }
+
+  private static boolean isDefaultPrimitive(ExecutableElement getter, TypeMirror type) {
+    return getter.isDefault() && type.getKind().isPrimitive();
+  }
+
+  private static String primitiveDefault(TypeMirror type) {
+    return switch (type.getKind()) {
+      case BOOLEAN -> "false";
+      case CHAR -> "'\\u0000'";
+      case LONG -> "0L";
+      case FLOAT -> "0.0f";
+      case DOUBLE -> "0.0";
+      case BYTE -> "(byte) 0";
+      case SHORT -> "(short) 0";
+      default -> "0";
+    };
+  }
+
+  private static String flatName(TypeElement type) {
+    List<String> names = new ArrayList<>();
+    Element element = type;
+    while (element instanceof TypeElement typeElement) {
+      names.addFirst(typeElement.getSimpleName().toString());
+      element = element.getEnclosingElement();
+    }
+    return String.join("_", names);
+  }
+
+  private static String qualified(String packageName, String className) {
+    return packageName.isEmpty() ? className : packageName + "." + className;
+  }
+}
@@ -0,0 +1,218 @@
+package io.github.fiserro.options.processor;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.hamcrest.core.Is.is;
+
+import io.github.fiserro.options.Options;
+import io.github.fiserro.options.OptionsFactory;
+import jakarta.validation.ConstraintViolation;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import javax.tools.Diagnostic.Kind;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class OptionsProcessorTest {
+
+  private static final String SOURCE = """
+      package com.example;
+
+      import io.github.fiserro.options.Derived;
+      import io.github.fiserro.options.Option;
+      import io.github.fiserro.options.Options;
+      import java.util.List;
+
+      public class App {
+
+        public interface Server {
+
+          @Option
+          String host();
+
+          @Option
+          default int port() {
+            return 8080;
+          }
+        }
+
+        public interface Config extends Server, Options<Config> {
+
+          @Option
+          int threads();
+
+          @Option
+          List<String> tags();
+
+          @Option
+          Nested nested();
+
+          Config withThreads(int threads);
+
+          default String url() {
+            return host() + ":" + port();
+          }
+
+          @Derived(cached = true)
+          default String cachedUrl() {
+            return new String(url());
+          }
+        }
+
+        public interface Nested extends Options<Nested> {
+
+          @Option
+          default String name() {
+            return "nested";
+          }
+        }
+      }
+      """;
+
+  @TempDir
+  static Path tempDir;
+
+  private static ClassLoader classLoader;
+
+  @BeforeAll
+  static void compile() throws IOException {
+    Path source = tempDir.resolve("com/example/App.java");
+    Files.createDirectories(source.getParent());
+    Files.writeString(source, SOURCE);
+
+    JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    int result = compiler.run(null, null, null,
+        "-classpath", classPath(),
+        "-processor", OptionsProcessor.class.getName(),
+        "-d", tempDir.toString(),
+        "-s", tempDir.toString(),
+        source.toString());
+    assertThat("Compilation with the processor failed", result, is(0));
+
+    classLoader = new URLClassLoader(new URL[]{tempDir.toUri().toURL()},
+        OptionsProcessorTest.class.getClassLoader());
+  }
+
+  @Test
+  void implementationAndBuilderAreGenerated() {
+    assertThat(Files.exists(tempDir.resolve("com/example/App_Config_Impl.java")), is(true));
+    assertThat(Files.exists(tempDir.resolve("com/example/App_Config_Builder.java")), is(true));
+    assertThat(Files.exists(tempDir.resolve("com/example/App_Nested_Impl.java")), is(true));
+    assertThat("Interface not extending Options is skipped",
+        Files.exists(tempDir.resolve("com/example/App_Server_Impl.java")), is(false));
+  }
+
+  @Test
+  void factoryUsesGeneratedImplementation() throws Exception {
+    Class<?> config = classLoader.loadClass("com.example.App$Config");
+    Options<?> options = create(config, Map.of("host", "localhost", "threads", 4,
+        "nested", Map.of()));
+
+    assertThat(options.getClass().getName(), is("com.example.App_Config_Impl"));
+    assertThat(invoke(options, "host"), is("localhost"));
+    assertThat(invoke(options, "port"), is(8080));
+    assertThat(invoke(options, "threads"), is(4));
+    assertThat(invoke(options, "tags"), nullValue());
+    assertThat(invoke(options, "url"), is("localhost:8080"));
+    assertThat(invoke(options, "cachedUrl"), is("localhost:8080"));
+    assertThat("Derived value is cached", invoke(options, "cachedUrl"),
+        sameInstance(invoke(options, "cachedUrl")));
+
+    Object nested = invoke(options, "nested");
+    assertThat(nested.getClass().getName(), is("com.example.App_Nested_Impl"));
+    assertThat(invoke(nested, "name"), is("nested"));
+  }
+
+  @Test
+  void generatedWithersAndBuilderChangeValues() throws Exception {
+    Class<?> config = classLoader.loadClass("com.example.App$Config");
+    Options<?> options = create(config, Map.of("host", "localhost", "port", 80));
+
+    Object changed = config.getMethod("withThreads", int.class).invoke(options, 8);
+    assertThat(invoke(changed, "threads"), is(8));
+    assertThat(invoke(changed, "port"), is(80));
+
+    Class<?> builderClass = classLoader.loadClass("com.example.App_Config_Builder");
+    Object builder = builderClass.getConstructor(config).newInstance(options);
+    builderClass.getMethod("tags", List.class).invoke(builder, List.of("a", "b"));
+    builderClass.getMethod("port", int.class).invoke(builder, 81);
+    Object built = builderClass.getMethod("build").invoke(builder);
+    assertThat(invoke(built, "tags"), is(List.of("a", "b")));
+    assertThat(invoke(built, "url"), is("localhost:81"));
+    assertThat(built.getClass().getName(), is("com.example.App_Config_Impl"));
+  }
+
+  @Test
+  void abstractMethodsWhichAreNotOptionsAreReported() throws IOException {
+    Path source = tempDir.resolve("invalid/com/example/Invalid.java");
+    Files.createDirectories(source.getParent());
+    Files.writeString(source, """
+        package com.example;
+
+        import io.github.fiserro.options.Option;
+        import io.github.fiserro.options.Options;
+
+        public interface Invalid extends Options<Invalid> {
+
+          @Option
+          String host();
+
+          String url(String path);
+
+          Invalid withPort(int port);
+        }
+        """);
+    DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+    JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, null)) {
+      boolean compiled = compiler.getTask(null, fileManager, diagnostics,
+          List.of("-classpath", classPath(), "-proc:only",
+              "-processor", OptionsProcessor.class.getName(),
+              "-s", tempDir.resolve("invalid").toString()),
+          null, fileManager.getJavaFileObjects(source)).call();
+
+      assertThat(compiled, is(false));
+      assertThat(diagnostics.getDiagnostics().stream()
+          .filter(d -> d.getKind() == Kind.ERROR)
+          .map(d -> d.getMessage(null))
+          .toList(), containsInAnyOrder(
+          "url is neither an option nor a wither of com.example.Invalid",
+          "withPort is a wither of the missing option port of com.example.Invalid"));
+      assertThat(Files.exists(tempDir.resolve("invalid/com/example/Invalid_Impl.java")),
+          is(false));
+    }
+  }
+
+  private static String classPath() {
+    return Stream.of(Options.class, ConstraintViolation.class, OptionsProcessor.class)
+        .map(c -> c.getProtectionDomain().getCodeSource().getLocation().getPath())
+        .reduce((a, b) -> a + File.pathSeparator + b)
+        .orElseThrow();
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private static Options<?> create(Class<?> optionsClass, Map<String, Object> values) {
+    return OptionsFactory.create((Class) optionsClass, values);
+  }
+
+  private static Object invoke(Object target, String method) throws Exception {
+    Method getter = target.getClass().getMethod(method);
+    return getter.invoke(target);
+  }
+}
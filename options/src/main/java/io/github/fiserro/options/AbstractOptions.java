@@ -0,0 +1,369 @@
+package io.github.fiserro.options;
+
+import io.github.fiserro.options.extension.OptionsExtension;
+import io.github.fiserro.options.extension.validation.ValidateOptionsException;
+import jakarta.validation.ConstraintViolation;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import lombok.val;
+import org.apache.commons.lang3.tuple.Pair;
+
+/**
+ * The parent class of all options created with the {@link OptionsFactory}. It implements base set
+ * of methods for the options.
+ */
+@RequiredArgsConstructor
+@EqualsAndHashCode(of = {"optionsClass", "values"})
+public abstract class AbstractOptions<T extends Options<T>> implements Options<T> {
+
+    private static final VarHandle DERIVED_VALUE = MethodHandles.arrayElementVarHandle(Object[].class);
+    private static final VarHandle DERIVED_VALUES = derivedValuesHandle();
+    private static final Object NULL_VALUE = new Object();
+
+    private final Class<T> optionsClass;
+    private final Map<OptionDef, Object> values;
+    private final Map<String, OptionDef> options;
+    private final List<OptionsExtension> dynamicExtensions;
+    private volatile Object[] derivedValues;
+
+    @Override
+    public Set<OptionDef> options() {
+        return new HashSet<>(options.values());
+    }
+
+    @Override
+    public Object getValue(String key) {
+        OptionDef optionDef = options.get(key);
+        if (optionDef == null) {
+            throw new IllegalArgumentException("Invalid key: " + key);
+        }
+        return getValue(optionDef);
+    }
+
+    @Override
+    public Object getValue(OptionDef optionDef) {
+        if (optionDef == null) {
+            throw new IllegalArgumentException("OptionDef cannot be null");
+        }
+        try {
+            return optionDef.method().invoke(this);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    @Override
+    public T withValue(String key, Object value) {
+        return withValues(Collections.singletonMap(key, value));
+    }
+
+    @Override
+    public T withValues(Map<String, ?> values) {
+        T options = withSharedValues(values);
+        if (options != null) {
+            return options;
+        }
+        return toBuilder()
+                .withValues(values)
+                .build();
+    }
+
+    /**
+     * Returns the copy of these options with the changed values. The copy shares all the other
+     * values with these options, so it takes O(k log n) time and memory for k changed values. The
+     * nested options are changed the same way. It returns null if the options have to be rebuilt:
+     * the nested options are replaced, or the getter of the option with the default method would be
+     * intercepted differently.
+     *
+     * @param changes the values by the keys or the dotted paths of the options
+     * @return the changed options or null
+     */
+    private T withSharedValues(Map<String, ?> changes) {
+        if (!(values instanceof OptionValues optionValues)) {
+            return null;
+        }
+        OptionValues changed = optionValues.copy();
+        Map<OptionDef, Map<String, Object>> nestedChanges = new HashMap<>();
+        for (Entry<String, ?> change : changes.entrySet()) {
+            String key = change.getKey();
+            int dot = options.containsKey(key) ? -1 : key.indexOf('.');
+            OptionDef optionDef = options.get(dot < 0 ? key : key.substring(0, dot));
+            if (optionDef == null || optionDef.isOptionsType() != dot >= 0) {
+                // the rebuild reports the invalid key
+                return null;
+            }
+            if (dot >= 0) {
+                nestedChanges.computeIfAbsent(optionDef, o -> new HashMap<>())
+                        .put(key.substring(dot + 1), change.getValue());
+                continue;
+            }
+            Object parsed = OptionsBuilder.parse(optionValues.model(), optionDef, change.getValue());
+            if (parsed == null || optionDef.hasDefaultMethod() && !optionValues.containsKey(optionDef)
+                    || !(parsed instanceof OptionValues.Unparsed)
+                    && !optionDef.wrapperType().isAssignableFrom(parsed.getClass())) {
+                return null;
+            }
+            changed.store(optionDef,
+                    OptionsBuilder.intern(optionValues.model(), optionDef, parsed));
+        }
+        for (Entry<OptionDef, Map<String, Object>> nested : nestedChanges.entrySet()) {
+            if (!(optionValues.get(nested.getKey()) instanceof AbstractOptions<?> nestedOptions)) {
+                return null;
+            }
+            Object changedNested = nestedOptions.withSharedValues(nested.getValue());
+            if (changedNested == null) {
+                return null;
+            }
+            changed.store(nested.getKey(),
+                    OptionsBuilder.intern(optionValues.model(), nested.getKey(), changedNested));
+        }
+        return OptionsFactory.newInstance(getClass(), optionsClass, changed, options,
+                dynamicExtensions);
+    }
+
+    /**
+     * Returns the overlay of these options with the changed values, see
+     * {@link OptionsFactory#overlay(Options, Map)}. The nested options are overlaid by the dotted
+     * paths of their options.
+     *
+     * @param changes the values by the keys or the dotted paths of the options
+     * @return the overlay of these options
+     */
+    T overlay(Map<String, ?> changes) {
+        if (!(values instanceof OptionValues optionValues)) {
+            return withValues(changes);
+        }
+        OptionsModel model = optionValues.model();
+        Map<Integer, Object> delta = new TreeMap<>();
+        Map<OptionDef, Map<String, Object>> nestedChanges = new HashMap<>();
+        for (Entry<String, ?> change : changes.entrySet()) {
+            String key = change.getKey();
+            int dot = options.containsKey(key) ? -1 : key.indexOf('.');
+            OptionDef optionDef = options.get(dot < 0 ? key : key.substring(0, dot));
+            if (optionDef == null || optionDef.isOptionsType() != dot >= 0) {
+                throw new IllegalArgumentException("Invalid key: " + key);
+            }
+            if (dot >= 0) {
+                nestedChanges.computeIfAbsent(optionDef, o -> new HashMap<>())
+                        .put(key.substring(dot + 1), change.getValue());
+                continue;
+            }
+            Object parsed = OptionsBuilder.parse(model, optionDef, change.getValue());
+            if (parsed == null && optionDef.isPrimitive() && !optionDef.hasDefaultMethod()) {
+                parsed = optionDef.getDefaultPrimitiveValue();
+            }
+            if (parsed != null && !(parsed instanceof OptionValues.Unparsed)
+                    && !optionDef.wrapperType().isAssignableFrom(parsed.getClass())) {
+                throw new IllegalArgumentException("The value of the option " + optionDef.name()
+                        + " is not of the expected type " + optionDef.javaType() + " but it is "
+                        + parsed.getClass());
+            }
+            delta.put(model.slot(optionDef), OptionsBuilder.intern(model, optionDef, parsed));
+        }
+        for (Entry<OptionDef, Map<String, Object>> nested : nestedChanges.entrySet()) {
+            if (!(optionValues.get(nested.getKey()) instanceof AbstractOptions<?> nestedOptions)) {
+                throw new IllegalArgumentException(
+                        "The option " + nested.getKey().name() + " has no nested options");
+            }
+            delta.put(model.slot(nested.getKey()), OptionsBuilder.intern(model, nested.getKey(),
+                    nestedOptions.overlay(nested.getValue())));
+        }
+        OptionValues overlay = OptionValues.overlay(optionValues,
+                delta.keySet().stream().mapToInt(Integer::intValue).toArray(),
+                delta.values().toArray());
+        return OptionsFactory.newInstance(OptionsFactory.implementation(optionsClass, model, overlay),
+                optionsClass, overlay, options, dynamicExtensions);
+    }
+
+    @Override
+    public <B extends OptionsBuilder<T, B>> OptionsBuilder<T, B> toBuilder(Class<T> optionsClass) {
+        return OptionsBuilder.newBuilder(optionsClass, options.values(), values, dynamicExtensions);
+    }
+
+    /**
+     * Returns the value from the Map of internal values by the option name. This method is used for
+     * the internal purposes and should not be used in the application code.
+     *
+     * @param key the name of the option
+     * @return the value of the option or null if the option is not set
+     */
+    Object getInternalValue(String key) {
+        OptionDef optionDef = options.get(key);
+        if (optionDef == null) {
+            throw new IllegalArgumentException("Invalid key: " + key);
+        }
+        return values.get(optionDef);
+    }
+
+    /**
+     * Returns the option definition by its key.
+     *
+     * @param key the name or alias of the option
+     * @return the option definition or null
+     */
+    OptionDef optionDef(String key) {
+        return options.get(key);
+    }
+
+    /**
+     * Returns the class of the options interface.
+     *
+     * @return the class of the options interface
+     */
+    Class<T> optionsClass() {
+        return optionsClass;
+    }
+
+    /**
+     * Returns the internal values of the options. This method is used for the internal purposes and
+     * the returned map must not be changed.
+     *
+     * @return the values of the options
+     */
+    Map<OptionDef, Object> internalValues() {
+        return values;
+    }
+
+    /**
+     * Returns the value of the option to initialize the field of the {@link FieldBacked}
+     * implementation or of the implementation generated at compile time. This method is called only
+     * from the constructor of the generated class.
+     *
+     * @param name the name of the option
+     * @return the value of the option or null if the option is not set
+     */
+    protected final Object fieldValue(String name) {
+        return getInternalValue(name);
+    }
+
+    @SneakyThrows
+    private static VarHandle derivedValuesHandle() {
+        return MethodHandles.lookup().findVarHandle(AbstractOptions.class, "derivedValues",
+                Object[].class);
+    }
+
+    /**
+     * Returns the cached value of the {@link Derived} method. The value is computed by the default
+     * method at the first call and it is stored in the given slot. Concurrent first calls wait for
+     * the single computation. An exception thrown by the method is not cached. The value is neither
+     * cached nor read from the cache while a {@link ScopedOverrides} scope is active in the current
+     * thread, because it may depend on the overridden options.
+     *
+     * @param slot   the slot of the derived method
+     * @param slots  the number of the derived methods of the options interface
+     * @param method the method invoking the default implementation of the derived method
+     * @return the value of the derived method
+     */
+    @SneakyThrows
+    Object derivedValue(int slot, int slots, Method method) {
+        if (ScopedOverrides.active()) {
+            try {
+                return method.invoke(this);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+        Object[] cache = derivedValues;
+        if (cache == null) {
+            // the cache created by a concurrent first call wins
+            Object[] created = new Object[slots];
+            Object[] witness = (Object[]) DERIVED_VALUES.compareAndExchange(this, null, created);
+            cache = witness == null ? created : witness;
+        }
+        Object value = DERIVED_VALUE.getAcquire(cache, slot);
+        if (value == null) {
+            synchronized (cache) {
+                value = cache[slot];
+                if (value == null) {
+                    try {
+                        value = method.invoke(this);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                    value = value == null ? NULL_VALUE : value;
+                    DERIVED_VALUE.setRelease(cache, slot, value);
+                }
+            }
+        }
+        return value == NULL_VALUE ? null : value;
+    }
+
+    /**
+     * Creates a new instance of the {@link OptionsBuilder} from these options. If you need to modify
+     * some option you have to do it in the builder because the options are immutable.
+     *
+     * @return the options builder
+     */
+    public <B extends OptionsBuilder<T, B>> OptionsBuilder<T, B> toBuilder() {
+        return toBuilder(optionsClass);
+    }
+
+    @Override
+    public Set<ConstraintViolation<T>> validate() {
+        if (values instanceof OptionValues optionValues) {
+            // the validation reports the invalid values of the lazy parsed options
+            optionValues.parseAll();
+        }
+        return OptionsFactory.validate(this);
+    }
+
+    @Override
+    public T validated() {
+        val constraintViolations = validate();
+        if (!constraintViolations.isEmpty()) {
+            Set<ConstraintViolation<?>> violationSet = Set.copyOf(constraintViolations);
+            throw new ValidateOptionsException(violationSet, this);
+        }
+        //noinspection unchecked
+        return (T) this;
+    }
+
+    @Override
+    public boolean isValid() {
+        Set<ConstraintViolation<T>> validate = validate();
+        return validate.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return optionsClass.getSimpleName() + '@' + Integer.toHexString(hashCode()) + "{"
+                + valuesAsString() + "}";
+    }
+
+    private String valuesAsString() {
+        return options.values().stream()
+                .distinct()
+                .map(option -> Pair.of(option.name(), getValue(option.name())))
+                .filter(pair -> pair.getValue() != null)
+                .sorted(Entry.comparingByKey())
+                .map(pair -> pair.getKey() + "=" + valueAsString(pair.getValue()))
+                .collect(Collectors.joining(", "));
+    }
+
+    private static String valueAsString(Object value) {
+        return switch (value) {
+            case int[] array -> Arrays.toString(array);
+            case long[] array -> Arrays.toString(array);
+            case double[] array -> Arrays.toString(array);
+            default -> value.toString();
+        };
+    }
+}
@@ -0,0 +1,21 @@
+package io.github.fiserro.options;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Use this Annotation on the default method of the Options interface which is not an
+ * {@link Option}, but it is derived from the other options.
+ * <p>By default the method is called on every call. When {@link #cached()} is true, the value is
+ * computed lazily at the first call of the method and the stored result is returned after that.
+ * Use it for the pure methods only, it is safe for them because the options are immutable. The
+ * value is computed only once even if the method is called concurrently.
+ */
+@Target({ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Derived {
+
+  boolean cached() default false;
+}
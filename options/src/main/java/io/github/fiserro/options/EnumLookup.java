@@ -0,0 +1,77 @@
+package io.github.fiserro.options;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Case-insensitive lookup of the enum constants by their string representation. The lookup table
+ * is built once per enum class. The names are compared the same way as by
+ * {@link String#equalsIgnoreCase(String)}.
+ */
+final class EnumLookup {
+
+  private static final ClassValue<EnumLookup> LOOKUPS = new ClassValue<>() {
+    @Override
+    protected EnumLookup computeValue(Class<?> type) {
+      return new EnumLookup(type);
+    }
+  };
+
+  /**
+   * Marks the names which match more than one enum constant.
+   */
+  private static final Object AMBIGUOUS = new Object();
+
+  private final Class<?> type;
+  private final Map<String, Object> constants;
+
+  private EnumLookup(Class<?> type) {
+    this.type = type;
+    Object[] enumConstants = type.getEnumConstants();
+    this.constants = HashMap.newHashMap(enumConstants.length);
+    for (Object constant : enumConstants) {
+      constants.merge(fold(constant.toString()), constant, (a, b) -> AMBIGUOUS);
+    }
+  }
+
+  /**
+   * Returns the lookup of the enum class.
+   *
+   * @param type the enum class
+   * @return the lookup of the enum class
+   */
+  static EnumLookup of(Class<?> type) {
+    return LOOKUPS.get(type);
+  }
+
+  /**
+   * Returns the enum constant matching the value ignoring the case.
+   *
+   * @param value the string value
+   * @return the enum constant
+   * @throws OptionsException if the value does not match exactly one enum constant
+   */
+  Object get(String value) {
+    Object constant = constants.get(fold(value));
+    if (constant == null) {
+      throw new OptionsException(
+          value + " does not match any of the enum values of " + type.getSimpleName());
+    } else if (constant == AMBIGUOUS) {
+      throw new OptionsException(
+          value + " matches multiple enum values of " + type.getSimpleName());
+    }
+    return constant;
+  }
+
+  /**
+   * Folds the case of every character the way {@link String#equalsIgnoreCase(String)} compares
+   * them, so two strings are equal ignoring the case if and only if their folded forms are equal.
+   */
+  private static String fold(String value) {
+    char[] chars = value.toCharArray();
+    for (int i = 0; i < chars.length; i++) {
+      chars[i] = Character.toLowerCase(Character.toUpperCase(chars[i]));
+    }
+    return new String(chars);
+  }
+}
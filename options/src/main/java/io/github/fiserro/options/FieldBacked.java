@@ -0,0 +1,20 @@
+package io.github.fiserro.options;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Use this Annotation on the Options interface to generate the implementation with one typed final
+ * field per option. The getters return the fields directly, so reading an option costs the same as
+ * reading a field of a plain object and the primitive options are not boxed.
+ * <p>The values of the options are still available as a Map through the
+ * {@link Options#toBuilder()}, so the equality and the builders work the same way as without this
+ * Annotation.
+ */
+@Target({ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface FieldBacked {
+
+}
@@ -0,0 +1,130 @@
+package io.github.fiserro.options;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.stream.IntStream;
+
+/**
+ * Immutable set of int values stored in the sorted array without boxing. It is suitable for large
+ * sets of ids with fast membership checks by {@link #contains(int)}. The option of this type is
+ * parsed from the comma separated values, e.g. {@code 1,2,3}.
+ */
+public final class IntSet extends AbstractSet<Integer> {
+
+  private static final IntSet EMPTY = new IntSet(new int[0]);
+
+  private final int[] values;
+
+  private IntSet(int[] values) {
+    this.values = values;
+  }
+
+  /**
+   * Creates the set of the given values. The duplicate values are ignored.
+   *
+   * @param values the values
+   * @return the set of the values
+   */
+  public static IntSet of(int... values) {
+    return wrap(values.clone(), values.length);
+  }
+
+  /**
+   * Creates the set of the first values of the given array. The array is sorted in place and it
+   * must not be changed afterwards.
+   *
+   * @param values the values
+   * @param length the number of the values
+   * @return the set of the values
+   */
+  static IntSet wrap(int[] values, int length) {
+    if (length == 0) {
+      return EMPTY;
+    }
+    Arrays.sort(values, 0, length);
+    int distinct = 1;
+    for (int i = 1; i < length; i++) {
+      if (values[i] != values[distinct - 1]) {
+        values[distinct++] = values[i];
+      }
+    }
+    return new IntSet(distinct == values.length ? values : Arrays.copyOf(values, distinct));
+  }
+
+  /**
+   * Returns true if the set contains the value.
+   *
+   * @param value the value
+   * @return true if the set contains the value
+   */
+  public boolean contains(int value) {
+    return Arrays.binarySearch(values, value) >= 0;
+  }
+
+  @Override
+  public boolean contains(Object o) {
+    return o instanceof Integer value && contains(value.intValue());
+  }
+
+  @Override
+  public int size() {
+    return values.length;
+  }
+
+  /**
+   * Returns the values of the set in ascending order.
+   *
+   * @return the new array of the values
+   */
+  public int[] toIntArray() {
+    return values.clone();
+  }
+
+  /**
+   * Returns the stream of the values in ascending order.
+   *
+   * @return the stream of the values
+   */
+  public IntStream intStream() {
+    return Arrays.stream(values);
+  }
+
+  @Override
+  public Iterator<Integer> iterator() {
+    return new Iterator<>() {
+      private int next;
+
+      @Override
+      public boolean hasNext() {
+        return next < values.length;
+      }
+
+      @Override
+      public Integer next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        return values[next++];
+      }
+    };
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (o instanceof IntSet other) {
+      return Arrays.equals(values, other.values);
+    }
+    return super.equals(o);
+  }
+
+  @Override
+  public int hashCode() {
+    int hashCode = 0;
+    for (int value : values) {
+      hashCode += value;
+    }
+    return hashCode;
+  }
+}
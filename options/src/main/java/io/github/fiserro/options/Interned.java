@@ -0,0 +1,21 @@
+package io.github.fiserro.options;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Use this Annotation on the Options interface to share the equal values of the options between
+ * the instances. The values set to the options are replaced by the equal canonical value, so many
+ * instances with the same host lists, URLs or nested options hold one object of each value. Only
+ * the immutable values, the immutable collections of them and the nested options are shared, see
+ * {@link ValueInterner}.
+ * <p>The nested options are shared when the interface of the parent options is annotated, the
+ * values of the nested options are shared when the nested interface is annotated as well.
+ */
+@Target({ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Interned {
+
+}
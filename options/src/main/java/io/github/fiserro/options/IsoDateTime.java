@@ -0,0 +1,188 @@
+package io.github.fiserro.options;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Date;
+
+/**
+ * Date and time parsed from the strict ISO-8601 format {@code yyyy-MM-dd['T'HH:mm[:ss[.S]][offset
+ * ['['zone']']]]}, where the offset is {@code Z} or {@code +HH:mm}. The value is parsed by a
+ * single scan of the characters, so the common values do not need the regular expressions of the
+ * fuzzy date parser. The conversions return null when the value cannot be converted to the type
+ * without guessing, e.g. the local date of the value with an offset, and the caller falls back to
+ * the fuzzy parser.
+ */
+final class IsoDateTime {
+
+  private final LocalDateTime dateTime;
+  private final ZoneOffset offset;
+  private final ZoneId zone;
+
+  private IsoDateTime(LocalDateTime dateTime, ZoneOffset offset, ZoneId zone) {
+    this.dateTime = dateTime;
+    this.offset = offset;
+    this.zone = zone;
+  }
+
+  /**
+   * Parses the strict ISO-8601 date or date-time.
+   *
+   * @param value the string value
+   * @return the parsed date-time or null if the value is not in the strict ISO-8601 format
+   */
+  static IsoDateTime parse(String value) {
+    int length = value.length();
+    if (length < 10 || value.charAt(4) != '-' || value.charAt(7) != '-') {
+      return null;
+    }
+    int year = digits(value, 0, 4);
+    int month = digits(value, 5, 2);
+    int day = digits(value, 8, 2);
+    if (year < 0 || month < 0 || day < 0) {
+      return null;
+    }
+    int hour = 0;
+    int minute = 0;
+    int second = 0;
+    int nano = 0;
+    int i = 10;
+    if (i < length) {
+      if (value.charAt(i) != 'T' || length < i + 6 || value.charAt(i + 3) != ':') {
+        return null;
+      }
+      hour = digits(value, i + 1, 2);
+      minute = digits(value, i + 4, 2);
+      i += 6;
+      if (i < length && value.charAt(i) == ':') {
+        if (length < i + 3) {
+          return null;
+        }
+        second = digits(value, i + 1, 2);
+        i += 3;
+        if (i < length && value.charAt(i) == '.') {
+          int start = ++i;
+          while (i < length && i - start < 9 && isDigit(value.charAt(i))) {
+            nano = nano * 10 + value.charAt(i++) - '0';
+          }
+          if (i == start) {
+            return null;
+          }
+          for (int digits = i - start; digits < 9; digits++) {
+            nano *= 10;
+          }
+        }
+      }
+      if (hour < 0 || minute < 0 || second < 0) {
+        return null;
+      }
+    }
+    try {
+      ZoneOffset offset = null;
+      if (i < length && value.charAt(i) == 'Z') {
+        offset = ZoneOffset.UTC;
+        i++;
+      } else if (i < length && (value.charAt(i) == '+' || value.charAt(i) == '-')) {
+        if (length < i + 6 || value.charAt(i + 3) != ':') {
+          return null;
+        }
+        int offsetHours = digits(value, i + 1, 2);
+        int offsetMinutes = digits(value, i + 4, 2);
+        if (offsetHours < 0 || offsetMinutes < 0) {
+          return null;
+        }
+        int sign = value.charAt(i) == '-' ? -1 : 1;
+        offset = ZoneOffset.ofHoursMinutes(sign * offsetHours, sign * offsetMinutes);
+        i += 6;
+      }
+      ZoneId zone = null;
+      if (offset != null && i < length && value.charAt(i) == '['
+          && value.charAt(length - 1) == ']') {
+        zone = ZoneId.of(value.substring(i + 1, length - 1));
+        i = length;
+      }
+      if (i != length) {
+        return null;
+      }
+      return new IsoDateTime(LocalDateTime.of(year, month, day, hour, minute, second, nano),
+          offset, zone);
+    } catch (DateTimeException e) {
+      // out of range fields or unknown zone, the fuzzy parser reports the error
+      return null;
+    }
+  }
+
+  /**
+   * Returns the local date if the value has no offset.
+   */
+  LocalDate toLocalDate() {
+    return offset == null ? dateTime.toLocalDate() : null;
+  }
+
+  /**
+   * Returns the local date-time if the value has no offset.
+   */
+  LocalDateTime toLocalDateTime() {
+    return offset == null ? dateTime : null;
+  }
+
+  /**
+   * Returns the offset date-time, the value without offset is in UTC.
+   */
+  OffsetDateTime toOffsetDateTime() {
+    return zone == null ? OffsetDateTime.of(dateTime, offsetOrUtc()) : null;
+  }
+
+  /**
+   * Returns the zoned date-time, the value without offset is in UTC.
+   */
+  ZonedDateTime toZonedDateTime() {
+    return zone == null
+        ? ZonedDateTime.of(dateTime, offsetOrUtc())
+        : ZonedDateTime.ofInstant(dateTime, offset, zone);
+  }
+
+  /**
+   * Returns the instant, the value without offset is in UTC.
+   */
+  Instant toInstant() {
+    return dateTime.toInstant(offsetOrUtc());
+  }
+
+  /**
+   * Returns the date, the value without offset is in the system default time zone.
+   */
+  Date toDate() {
+    return Date.from(offset == null
+        ? dateTime.atZone(ZoneId.systemDefault()).toInstant()
+        : dateTime.toInstant(offset));
+  }
+
+  private ZoneOffset offsetOrUtc() {
+    return offset == null ? ZoneOffset.UTC : offset;
+  }
+
+  /**
+   * Returns the number of the given digits or -1 if any of the characters is not a digit.
+   */
+  private static int digits(String value, int start, int count) {
+    int number = 0;
+    for (int i = start; i < start + count; i++) {
+      char c = value.charAt(i);
+      if (!isDigit(c)) {
+        return -1;
+      }
+      number = number * 10 + c - '0';
+    }
+    return number;
+  }
+
+  private static boolean isDigit(char c) {
+    return c >= '0' && c <= '9';
+  }
+}
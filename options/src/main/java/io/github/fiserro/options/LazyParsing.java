@@ -0,0 +1,22 @@
+package io.github.fiserro.options;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Use this Annotation on the Options interface to parse the string values of the options on the
+ * first access instead of when they are set. The options keep the raw string of the source with the
+ * highest priority and the options which are never read are never parsed. The value is parsed once,
+ * concurrent first reads publish the same parsed value.
+ * <p>The parsing errors are thrown by the getter of the option. The validation parses all the
+ * values, so {@link Options#validate()} reports the invalid values before they are read. The
+ * {@link FieldBacked} implementation and the implementation generated at compile time parse the
+ * values when the options are created.
+ */
+@Target({ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface LazyParsing {
+
+}
@@ -0,0 +1,130 @@
+package io.github.fiserro.options;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.stream.LongStream;
+
+/**
+ * Immutable set of long values stored in the sorted array without boxing. It is suitable for large
+ * sets of ids with fast membership checks by {@link #contains(long)}. The option of this type is
+ * parsed from the comma separated values, e.g. {@code 1,2,3}.
+ */
+public final class LongSet extends AbstractSet<Long> {
+
+  private static final LongSet EMPTY = new LongSet(new long[0]);
+
+  private final long[] values;
+
+  private LongSet(long[] values) {
+    this.values = values;
+  }
+
+  /**
+   * Creates the set of the given values. The duplicate values are ignored.
+   *
+   * @param values the values
+   * @return the set of the values
+   */
+  public static LongSet of(long... values) {
+    return wrap(values.clone(), values.length);
+  }
+
+  /**
+   * Creates the set of the first values of the given array. The array is sorted in place and it
+   * must not be changed afterwards.
+   *
+   * @param values the values
+   * @param length the number of the values
+   * @return the set of the values
+   */
+  static LongSet wrap(long[] values, int length) {
+    if (length == 0) {
+      return EMPTY;
+    }
+    Arrays.sort(values, 0, length);
+    int distinct = 1;
+    for (int i = 1; i < length; i++) {
+      if (values[i] != values[distinct - 1]) {
+        values[distinct++] = values[i];
+      }
+    }
+    return new LongSet(distinct == values.length ? values : Arrays.copyOf(values, distinct));
+  }
+
+  /**
+   * Returns true if the set contains the value.
+   *
+   * @param value the value
+   * @return true if the set contains the value
+   */
+  public boolean contains(long value) {
+    return Arrays.binarySearch(values, value) >= 0;
+  }
+
+  @Override
+  public boolean contains(Object o) {
+    return o instanceof Long value && contains(value.longValue());
+  }
+
+  @Override
+  public int size() {
+    return values.length;
+  }
+
+  /**
+   * Returns the values of the set in ascending order.
+   *
+   * @return the new array of the values
+   */
+  public long[] toLongArray() {
+    return values.clone();
+  }
+
+  /**
+   * Returns the stream of the values in ascending order.
+   *
+   * @return the stream of the values
+   */
+  public LongStream longStream() {
+    return Arrays.stream(values);
+  }
+
+  @Override
+  public Iterator<Long> iterator() {
+    return new Iterator<>() {
+      private int next;
+
+      @Override
+      public boolean hasNext() {
+        return next < values.length;
+      }
+
+      @Override
+      public Long next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        return values[next++];
+      }
+    };
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (o instanceof LongSet other) {
+      return Arrays.equals(values, other.values);
+    }
+    return super.equals(o);
+  }
+
+  @Override
+  public int hashCode() {
+    int hashCode = 0;
+    for (long value : values) {
+      hashCode += Long.hashCode(value);
+    }
+    return hashCode;
+  }
+}
@@ -19,4 +19,14 @@ public @interface Option {
   String[] env() default {};
 
   Class<? extends ValueParser> parser() default ValueParserDefault.class;
+
+  /**
+   * The separator of the elements of the collection, array and map options.
+   */
+  char separator() default ',';
+
+  /**
+   * The separator of the key and the value of the map entry.
+   */
+  char keyValueSeparator() default '=';
 }
@@ -0,0 +1,25 @@
+package io.github.fiserro.options;
+
+/**
+ * The change of the value of the option between two instances of the options.
+ *
+ * @param path     the path of the option, the names of the nested options are separated by dots,
+ *                 e.g. {@code database.port}
+ * @param option   the changed option
+ * @param oldValue the value of the option in the previous instance
+ * @param newValue the value of the option in the new instance
+ */
+public record OptionChange(String path, OptionDef option, Object oldValue, Object newValue) {
+
+  /**
+   * Returns true if the change is the change of the option with the given path or of an option
+   * nested in it.
+   *
+   * @param path the path of the option
+   * @return true if the option or its nested option changed
+   */
+  public boolean isWithin(String path) {
+    return this.path.equals(path)
+        || this.path.startsWith(path) && this.path.charAt(path.length()) == '.';
+  }
+}
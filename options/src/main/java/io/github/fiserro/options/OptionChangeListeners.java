@@ -0,0 +1,97 @@
+package io.github.fiserro.options;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Registry of the listeners notified about the changed options when the options are rebuilt, e.g.
+ * by {@link ReloadableOptions}. The listener is registered for the paths or the definitions of the
+ * options and it is notified only if some of them changed, once per rebuild with all of their
+ * changes. The listener of the nested options path is notified about the changes of the options
+ * nested in it.
+ *
+ * @param <T> the type of the options
+ */
+@Slf4j
+public final class OptionChangeListeners<T extends Options<T>> {
+
+  private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+  /**
+   * Registers the listener of the options with the given paths, e.g. {@code port} or
+   * {@code database.host}.
+   *
+   * @param listener the listener of the changes
+   * @param paths    the paths of the options
+   * @return the handle which removes the listener when closed
+   */
+  public AutoCloseable onChange(Consumer<List<OptionChange>> listener, String... paths) {
+    List<String> watched = List.of(paths);
+    return register(listener, change -> watched.stream().anyMatch(change::isWithin));
+  }
+
+  /**
+   * Registers the listener of the given options.
+   *
+   * @param listener the listener of the changes
+   * @param options  the definitions of the options
+   * @return the handle which removes the listener when closed
+   */
+  public AutoCloseable onChange(Consumer<List<OptionChange>> listener, OptionDef... options) {
+    List<OptionPath> watched = Stream.of(options).map(OptionDef::path).toList();
+    return register(listener, change -> watched.stream().anyMatch(path ->
+        isWithin(change.option().path(), path)));
+  }
+
+  /**
+   * Finds the changes between the options and notifies the listeners of the changed options. The
+   * exception thrown by the listener is logged and the other listeners are notified anyway.
+   *
+   * @param before the previous instance of the options
+   * @param after  the new instance of the options
+   * @return all the changes of the options
+   */
+  public List<OptionChange> fire(T before, T after) {
+    List<OptionChange> changes = OptionsDiff.diff(before, after);
+    if (changes.isEmpty()) {
+      return changes;
+    }
+    for (Listener listener : listeners) {
+      List<OptionChange> matching = changes.stream().filter(listener.filter).toList();
+      if (!matching.isEmpty()) {
+        try {
+          listener.consumer.accept(matching);
+        } catch (RuntimeException e) {
+          log.warn("The listener of the options {} failed", matching, e);
+        }
+      }
+    }
+    return changes;
+  }
+
+  private AutoCloseable register(Consumer<List<OptionChange>> consumer,
+      Predicate<OptionChange> filter) {
+    Listener listener = new Listener(consumer, filter);
+    listeners.add(listener);
+    return () -> listeners.remove(listener);
+  }
+
+  private static boolean isWithin(OptionPath path, OptionPath parent) {
+    OptionPath current = path;
+    while (current != null) {
+      if (current.equals(parent)) {
+        return true;
+      }
+      current = current.equals(OptionPath.empty()) ? null : current.parent();
+    }
+    return false;
+  }
+
+  private record Listener(Consumer<List<OptionChange>> consumer, Predicate<OptionChange> filter) {
+
+  }
+}
@@ -29,6 +29,23 @@ public record OptionDef(
     List<Annotation> annotations
 ) {
 
+  /**
+   * Merges the given keys with the default keys of the option: the environment variable name, the
+   * java name and the java name in upper underscore case. The keys are computed once, so the key
+   * lookups do not convert the case of the name again.
+   */
+  public OptionDef {
+    if (option != null && method != null) {
+      Stream<String> defaultKeys = Stream.concat(
+          Stream.of(option.env()),
+          Stream.of(method.getName(),
+              CaseFormat.LOWER_CAMEL.to(CaseFormat.UPPER_UNDERSCORE, method.getName()))
+      ).filter(s -> !s.isBlank());
+      keys = Stream.concat(defaultKeys, keys == null ? Stream.empty() : keys.stream())
+          .collect(Collectors.toUnmodifiableSet());
+    }
+  }
+
   /**
    * Returns the class of the options that the option is defined in.
    *
@@ -146,14 +163,7 @@ public record OptionDef(
    * @return the set of keys that can be used to access this option
    */
   public Set<String> keys() {
-    Stream<String> defaultKeys = Stream.concat(
-        Stream.of(option.env()),
-        Stream.of(name(), CaseFormat.LOWER_CAMEL.to(CaseFormat.UPPER_UNDERSCORE, name()))
-    ).filter(s -> !s.isBlank());
-    if (keys == null) {
-      return defaultKeys.collect(Collectors.toSet());
-    }
-    return Stream.concat(defaultKeys, keys.stream()).collect(Collectors.toSet());
+    return keys;
   }
 
   /**
@@ -40,6 +40,13 @@ public class OptionPath implements Path {
     return new OptionPath(nodesPlus);
   }
 
+  public OptionPath parent() {
+    if (nodes.isEmpty()) {
+      throw new IllegalStateException("The empty path has no parent");
+    }
+    return new OptionPath(nodes.subList(0, nodes.size() - 1));
+  }
+
   @Override
   public String toString() {
     return nodes.stream().map(Node::toString).collect(Collectors.joining("/"));
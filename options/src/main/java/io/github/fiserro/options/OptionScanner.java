@@ -7,9 +7,11 @@ import com.google.common.base.CaseFormat;
 import com.google.common.base.Preconditions;
 import java.lang.reflect.Method;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import lombok.extern.slf4j.Slf4j;
@@ -142,6 +144,32 @@ public class OptionScanner {
         .collect(Collectors.toSet());
   }
 
+  /**
+   * Scans the given options interface for the default methods with the cached {@link Derived}
+   * value. The methods are sorted by name, so their order is stable.
+   *
+   * @param clazz the options interface
+   * @return the derived methods whose values are cached
+   */
+  List<Method> scanCachedDerived(Class<?> clazz) {
+    Map<String, Method> derived = new TreeMap<>();
+    for (Method method : clazz.getMethods()) {
+      Derived annotation = method.getAnnotation(Derived.class);
+      if (annotation == null || !annotation.cached()) {
+        continue;
+      }
+      if (!method.isDefault() || method.getParameterCount() > 0
+          || method.getReturnType() == void.class || method.isAnnotationPresent(Option.class)) {
+        log.warn("Derived method {} in {} has to be a default method with no parameters "
+            + "returning a value and it must not be an option", method.getName(),
+            clazz.getSimpleName());
+        continue;
+      }
+      derived.putIfAbsent(method.getName(), method);
+    }
+    return List.copyOf(derived.values());
+  }
+
   @VisibleForTesting
   Map<String, OptionDef> scanByKeys(Class<? extends Options> clazz) {
     return scan(clazz).stream()
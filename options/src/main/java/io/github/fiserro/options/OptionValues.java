@@ -0,0 +1,474 @@
+package io.github.fiserro.options;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * The values of the options stored in the slots indexed by the {@link OptionsModel#slot slot} of
+ * the option. The map is a view of the slots, a null value is the same as no value. The array
+ * values are compared by their content.
+ * <p>The slots are the leaves of the persistent trie with 32 slots in every node, the interfaces
+ * with up to 32 options have the single leaf. The {@link #copy() copy} shares all the nodes with
+ * the original values and the change of the shared slot copies only the nodes on the path to the
+ * slot, so the copy with one changed value takes O(log n) time and memory. The nodes created by
+ * these values after the copy are owned by them and they are changed in place.
+ * <p>The values of the options instance are {@link #freeze() frozen}, they are never changed and
+ * their copy does not write to them, so the values can be shared by the threads. The values which
+ * are not frozen, e.g. the values of the builder, are changed and copied by one thread only.
+ * <p>The {@link #overlay overlay} values keep only the sorted slots and the values which differ
+ * from the base values and they read the other slots from the base. They are turned into the trie
+ * when they are changed.
+ * <p>The slot of the {@link LazyParsing} option can hold the {@link Unparsed} string value. It is
+ * parsed when the value is read and the parsed value replaces it in the slot. Concurrent readers
+ * publish the parsed value by compare-and-set, so all of them return the same value.
+ */
+final class OptionValues extends AbstractMap<OptionDef, Object> {
+
+  private static final VarHandle SLOT = MethodHandles.arrayElementVarHandle(Object[].class);
+  private static final int BITS = 5;
+  private static final int WIDTH = 1 << BITS;
+  private static final int MASK = WIDTH - 1;
+  /**
+   * The index of the owner of the node, it follows the slots of the node.
+   */
+  private static final int OWNER = WIDTH;
+
+  private final OptionsModel model;
+  private final int shift;
+  private Object[] root;
+  /**
+   * The owner of the nodes changed in place, null if the values are frozen.
+   */
+  private Object owner = new Object();
+  private OptionValues base;
+  private int[] overlaySlots;
+  private Object[] overlayValues;
+
+  OptionValues(OptionsModel model) {
+    this.model = model;
+    this.shift = shift(model.size());
+    this.root = node();
+  }
+
+  private OptionValues(OptionsModel model, int shift, Object[] root) {
+    this.model = model;
+    this.shift = shift;
+    this.root = root;
+  }
+
+  private OptionValues(OptionValues base, int[] overlaySlots, Object[] overlayValues) {
+    this.model = base.model;
+    this.shift = base.shift;
+    this.base = base;
+    this.overlaySlots = overlaySlots;
+    this.overlayValues = overlayValues;
+  }
+
+  /**
+   * Returns the values which differ from the base values only in the given slots. The overlay of
+   * the overlay values has their base, so the reads never go through more overlays.
+   *
+   * @param base   the base values, they must not be changed afterwards
+   * @param slots  the sorted distinct slots of the changed values
+   * @param values the changed values, null removes the value of the base
+   * @return the overlay values
+   */
+  static OptionValues overlay(OptionValues base, int[] slots, Object[] values) {
+    if (base.base == null) {
+      return new OptionValues(base, slots, values);
+    }
+    int[] mergedSlots = new int[base.overlaySlots.length + slots.length];
+    Object[] mergedValues = new Object[mergedSlots.length];
+    int size = 0;
+    int i = 0;
+    int j = 0;
+    while (i < base.overlaySlots.length || j < slots.length) {
+      if (j == slots.length
+          || i < base.overlaySlots.length && base.overlaySlots[i] < slots[j]) {
+        mergedSlots[size] = base.overlaySlots[i];
+        mergedValues[size++] = base.overlayValues[i++];
+      } else {
+        if (i < base.overlaySlots.length && base.overlaySlots[i] == slots[j]) {
+          i++;
+        }
+        mergedSlots[size] = slots[j];
+        mergedValues[size++] = values[j++];
+      }
+    }
+    return new OptionValues(base.base, Arrays.copyOf(mergedSlots, size),
+        Arrays.copyOf(mergedValues, size));
+  }
+
+  private static int shift(int size) {
+    int shift = 0;
+    while (size > WIDTH << shift) {
+      shift += BITS;
+    }
+    return shift;
+  }
+
+  /**
+   * Returns the model of the options the values belong to.
+   *
+   * @return the model of the options
+   */
+  OptionsModel model() {
+    return model;
+  }
+
+  /**
+   * Returns the copy of the values which shares the slots with these values. The values are not
+   * copied.
+   *
+   * @return the copy of the values
+   */
+  OptionValues copy() {
+    if (base != null) {
+      return new OptionValues(base, overlaySlots, overlayValues);
+    }
+    if (owner != null) {
+      // the nodes are shared from now on, so these values copy them before changing them as well
+      owner = new Object();
+    }
+    // the copy has its own owner, so it copies the shared nodes before changing them
+    return new OptionValues(model, shift, root);
+  }
+
+  /**
+   * Freezes the values before they are published by the options instance, the frozen values are
+   * never changed. Only the unparsed values are replaced by the parsed ones.
+   *
+   * @return these values
+   */
+  OptionValues freeze() {
+    owner = null;
+    return this;
+  }
+
+  /**
+   * Returns the value stored in the slot. The unparsed value is parsed and stored in the slot.
+   *
+   * @param slot the slot of the option
+   * @return the value or null
+   */
+  Object get(int slot) {
+    if (base != null) {
+      int index = Arrays.binarySearch(overlaySlots, slot);
+      if (index < 0) {
+        return base.get(slot);
+      }
+      Object value = SLOT.getAcquire(overlayValues, index);
+      return value instanceof Unparsed unparsed
+          ? parse(overlayValues, index, slot, unparsed)
+          : value;
+    }
+    Object[] leaf = leaf(slot);
+    if (leaf == null) {
+      return null;
+    }
+    Object value = SLOT.getAcquire(leaf, slot & MASK);
+    return value instanceof Unparsed unparsed ? parse(leaf, slot & MASK, slot, unparsed) : value;
+  }
+
+  /**
+   * Returns true if the slot holds the value which is not parsed yet.
+   *
+   * @param slot the slot of the option
+   * @return true if the value is not parsed yet
+   */
+  boolean isUnparsed(int slot) {
+    return raw(slot) instanceof Unparsed;
+  }
+
+  /**
+   * Returns true if the slot of these and the other values holds the same value: the same instance
+   * or the equal unparsed strings. The values are not parsed.
+   *
+   * @param other the other values of the same model
+   * @param slot  the slot of the option
+   * @return true if the slots hold the same value
+   */
+  boolean same(OptionValues other, int slot) {
+    Object value = raw(slot);
+    Object otherValue = other.raw(slot);
+    return value == otherValue || value instanceof Unparsed && value.equals(otherValue);
+  }
+
+  /**
+   * Parses all the unparsed values.
+   */
+  void parseAll() {
+    for (int slot = 0; slot < model.size(); slot++) {
+      get(slot);
+    }
+  }
+
+  private Object raw(int slot) {
+    if (base != null) {
+      int index = Arrays.binarySearch(overlaySlots, slot);
+      return index < 0 ? base.raw(slot) : SLOT.getAcquire(overlayValues, index);
+    }
+    Object[] leaf = leaf(slot);
+    return leaf == null ? null : SLOT.getAcquire(leaf, slot & MASK);
+  }
+
+  private Object[] leaf(int slot) {
+    Object[] node = root;
+    for (int level = shift; level > 0 && node != null; level -= BITS) {
+      node = (Object[]) node[(slot >>> level) & MASK];
+    }
+    return node;
+  }
+
+  private Object parsed(int slot, Object value) {
+    return value instanceof Unparsed unparsed
+        ? model.parse(model.option(slot), unparsed.value())
+        : value;
+  }
+
+  private Object parse(Object[] array, int index, int slot, Unparsed unparsed) {
+    Object parsed = model.parse(model.option(slot), unparsed.value());
+    Object witness = SLOT.compareAndExchangeRelease(array, index, unparsed, parsed);
+    // the value parsed by a concurrent reader wins
+    return witness == unparsed ? parsed : witness;
+  }
+
+  /**
+   * Stores the value in the slot.
+   *
+   * @param slot  the slot of the option
+   * @param value the value or null to remove the value
+   * @return the previous value, it is not parsed
+   */
+  Object set(int slot, Object value) {
+    checkNotFrozen();
+    if (base != null) {
+      materialize();
+    }
+    if (value == null && leaf(slot) == null) {
+      return null;
+    }
+    root = owned(root);
+    Object[] node = root;
+    for (int level = shift; level > 0; level -= BITS) {
+      int index = (slot >>> level) & MASK;
+      Object[] child = (Object[]) node[index];
+      child = child == null ? node() : owned(child);
+      node[index] = child;
+      node = child;
+    }
+    Object previous = node[slot & MASK];
+    node[slot & MASK] = value;
+    return previous;
+  }
+
+  /**
+   * Turns the overlay values into the trie sharing the nodes of the base values.
+   */
+  private void checkNotFrozen() {
+    if (owner == null) {
+      throw new IllegalStateException("The values of the options instance cannot be changed");
+    }
+  }
+
+  private void materialize() {
+    OptionValues shared = base.copy();
+    int[] slots = overlaySlots;
+    Object[] values = overlayValues;
+    root = shared.root;
+    base = null;
+    overlaySlots = null;
+    overlayValues = null;
+    for (int i = 0; i < slots.length; i++) {
+      set(slots[i], values[i]);
+    }
+  }
+
+  private Object[] node() {
+    Object[] node = new Object[WIDTH + 1];
+    node[OWNER] = owner;
+    return node;
+  }
+
+  private Object[] owned(Object[] node) {
+    if (node[OWNER] == owner) {
+      return node;
+    }
+    Object[] copy = node.clone();
+    copy[OWNER] = owner;
+    return copy;
+  }
+
+  @Override
+  public Object get(Object key) {
+    int slot = slotOf(key);
+    return slot < 0 ? null : get(slot);
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    int slot = slotOf(key);
+    return slot >= 0 && raw(slot) != null;
+  }
+
+  @Override
+  public Object put(OptionDef key, Object value) {
+    int slot = slotOrThrow(key);
+    return parsed(slot, set(slot, value));
+  }
+
+  /**
+   * Stores the value of the option. Unlike {@link #put} it does not return the previous value, so
+   * the previous unparsed value is not parsed.
+   *
+   * @param key   the option
+   * @param value the value or null to remove the value
+   */
+  void store(OptionDef key, Object value) {
+    set(slotOrThrow(key), value);
+  }
+
+  @Override
+  public Object remove(Object key) {
+    int slot = slotOf(key);
+    return slot < 0 ? null : parsed(slot, set(slot, null));
+  }
+
+  @Override
+  public void clear() {
+    checkNotFrozen();
+    base = null;
+    overlaySlots = null;
+    overlayValues = null;
+    root = node();
+  }
+
+  @Override
+  public int size() {
+    int size = 0;
+    for (int slot = 0; slot < model.size(); slot++) {
+      if (raw(slot) != null) {
+        size++;
+      }
+    }
+    return size;
+  }
+
+  @Override
+  public Set<Entry<OptionDef, Object>> entrySet() {
+    return new AbstractSet<>() {
+      @Override
+      public Iterator<Entry<OptionDef, Object>> iterator() {
+        return new EntryIterator();
+      }
+
+      @Override
+      public int size() {
+        return OptionValues.this.size();
+      }
+    };
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (o instanceof OptionValues other && other.model == model) {
+      if (root != null && other.root == root) {
+        return true;
+      }
+      for (int slot = 0; slot < model.size(); slot++) {
+        if (!same(other, slot) && !Objects.deepEquals(get(slot), other.get(slot))) {
+          return false;
+        }
+      }
+      return true;
+    }
+    return super.equals(o);
+  }
+
+  @Override
+  public int hashCode() {
+    int hashCode = 0;
+    for (int slot = 0; slot < model.size(); slot++) {
+      Object value = get(slot);
+      if (value != null) {
+        hashCode += model.option(slot).hashCode() ^ valueHashCode(value);
+      }
+    }
+    return hashCode;
+  }
+
+  private static int valueHashCode(Object value) {
+    return switch (value) {
+      case int[] array -> Arrays.hashCode(array);
+      case long[] array -> Arrays.hashCode(array);
+      case double[] array -> Arrays.hashCode(array);
+      default -> value.hashCode();
+    };
+  }
+
+  private int slotOrThrow(OptionDef key) {
+    int slot = model.slot(key);
+    if (slot < 0) {
+      throw new IllegalArgumentException("Invalid option: " + key.name());
+    }
+    return slot;
+  }
+
+  private int slotOf(Object key) {
+    return key instanceof OptionDef optionDef ? model.slot(optionDef) : -1;
+  }
+
+  private class EntryIterator implements Iterator<Entry<OptionDef, Object>> {
+
+    private int next = advance(0);
+    private int last = -1;
+
+    private int advance(int from) {
+      int slot = from;
+      while (slot < model.size() && raw(slot) == null) {
+        slot++;
+      }
+      return slot;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return next < model.size();
+    }
+
+    @Override
+    public Entry<OptionDef, Object> next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      last = next;
+      next = advance(next + 1);
+      return new SimpleImmutableEntry<>(model.option(last), get(last));
+    }
+
+    @Override
+    public void remove() {
+      if (last < 0) {
+        throw new IllegalStateException();
+      }
+      set(last, null);
+      last = -1;
+    }
+  }
+
+  /**
+   * The string value of the {@link LazyParsing} option which is parsed on the first access.
+   *
+   * @param value the string value
+   */
+  record Unparsed(String value) {
+
+  }
+}
@@ -3,6 +3,7 @@ package io.github.fiserro.options;
 import io.github.fiserro.options.extension.validation.ValidateOptionsException;
 import jakarta.validation.ConstraintViolation;
 
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -66,6 +67,17 @@ public interface Options<T extends Options<T>> {
      */
     T withValue(String key, Object value);
 
+    /**
+     * Returns new instance of the options with changed values of the options. The values are set
+     * at once, so the options are copied and built only once. The key is the name or alias of the
+     * option or the path of the nested option with the names separated by dots, e.g.
+     * {@code database.port}.
+     *
+     * @param values the values of the options by their keys or paths
+     * @return the new instance of the options
+     */
+    T withValues(Map<String, ?> values);
+
     /**
      * Validates the options and returns the set of the constraint violations.
      *
@@ -1,15 +1,20 @@
 package io.github.fiserro.options;
 
+import com.google.common.collect.ImmutableMap;
 import io.github.fiserro.options.extension.OptionsExtension;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
-import lombok.SneakyThrows;
 import lombok.val;
 import org.apache.commons.lang3.ClassUtils;
 
@@ -22,10 +27,11 @@ public class OptionsBuilder<T extends Options<T>, B extends OptionsBuilder<T, B>
 
   private static final String INVALID_KEY = "Invalid key: ";
   private final Class<T> optionsClass;
-  private final Set<OptionDef> optionDefs;
-  private final Map<OptionDef, Object> values;
+  private final OptionsModel model;
+  private final OptionValues values;
   private final String[] args;
   private final List<OptionsExtension> dynamicExtensions;
+  private final List<Map<String, String>> variableLayers = new ArrayList<>();
 
   /**
    * Creates the options builder from the given Options Class, values, dynamic extensions, and program arguments.
@@ -41,8 +47,9 @@ public class OptionsBuilder<T extends Options<T>, B extends OptionsBuilder<T, B>
   static <T extends Options<T>, B extends OptionsBuilder<T, B>> OptionsBuilder<T, B> newBuilder(
       Class<T> optionsClass, Collection<OptionDef> optionDefs, Map<OptionDef, Object> values,
       List<OptionsExtension> dynamicExtensions) {
-    Map<OptionDef, Object> valuesCopy = deepCopyMap(values);
-    return new OptionsBuilder<>(optionsClass, optionDefs, valuesCopy, dynamicExtensions);
+    OptionsModel model = values instanceof OptionValues optionValues
+        ? optionValues.model() : OptionsModel.of(optionsClass, optionDefs);
+    return new OptionsBuilder<>(optionsClass, model, copyValues(model, values), dynamicExtensions);
   }
 
   /**
@@ -60,8 +67,45 @@ public class OptionsBuilder<T extends Options<T>, B extends OptionsBuilder<T, B>
       Class<T> optionsClass, Map<String, Object> values, List<OptionsExtension> dynamicExtensions,
       String... args) {
     Map<String, Object> valuesCopy = deepCopyMap(values);
-    Set<OptionDef> optionDefSet = new OptionScanner().scan(optionsClass);
-    return new OptionsBuilder<>(optionsClass, optionDefSet, valuesCopy, dynamicExtensions, args);
+    return new OptionsBuilder<>(optionsClass, OptionsModel.of(optionsClass), valuesCopy,
+        dynamicExtensions, args);
+  }
+
+  /**
+   * Copies the values of the options. The slots are copied at once, only the nested options and the
+   * collections are deep copied.
+   *
+   * @param model  the model of the options
+   * @param values the values to copy
+   * @return the copied values
+   */
+  private static OptionValues copyValues(OptionsModel model, Map<OptionDef, Object> values) {
+    if (values instanceof OptionValues optionValues && optionValues.model() == model) {
+      OptionValues copy = optionValues.copy();
+      for (int slot : model.copiedSlots()) {
+        Object value = copy.get(slot);
+        if (value != null) {
+          copy.set(slot, intern(model, model.option(slot), copyValue(value)));
+        }
+      }
+      return copy;
+    }
+    OptionValues copy = new OptionValues(model);
+    values.forEach((optionDef, value) -> copy.put(optionDef,
+        intern(model, optionDef, copyValue(value))));
+    return copy;
+  }
+
+  /**
+   * Returns the canonical value equal to the value if the options are {@link Interned}.
+   *
+   * @param model     the model of the options
+   * @param optionDef the option definition
+   * @param value     the value of the option
+   * @return the canonical value or the value itself
+   */
+  static Object intern(OptionsModel model, OptionDef optionDef, Object value) {
+    return model.interned() ? ValueInterner.intern(optionDef, value) : value;
   }
 
   /**
@@ -81,6 +125,26 @@ public class OptionsBuilder<T extends Options<T>, B extends OptionsBuilder<T, B>
         ));
   }
 
+  /**
+   * Deep copies the sorted map, the copy keeps the comparator of the map.
+   */
+  private static <K, V> Map<K, V> copySortedMap(SortedMap<K, V> map) {
+    return copyEntries(map, new TreeMap<>(map.comparator()));
+  }
+
+  /**
+   * Deep copies the linked map, the copy keeps the order of the entries.
+   */
+  private static <K, V> Map<K, V> copyLinkedMap(LinkedHashMap<K, V> map) {
+    return copyEntries(map, LinkedHashMap.newLinkedHashMap(map.size()));
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <K, V> Map<K, V> copyEntries(Map<K, V> map, Map<K, V> target) {
+    map.forEach((key, value) -> target.put(key, (V) copyValue(value)));
+    return target;
+  }
+
   /**
    * Deep copies the value.
    *
@@ -90,6 +154,12 @@ public class OptionsBuilder<T extends Options<T>, B extends OptionsBuilder<T, B>
   private static Object copyValue(Object value) {
     return switch (value) {
       case Options<?> options -> options.toBuilder();
+      case IntSet intSet -> intSet;
+      case LongSet longSet -> longSet;
+      case EnumSet<?> enumSet -> enumSet.clone();
+      case ImmutableMap<?, ?> map -> map;
+      case SortedMap<?, ?> map -> copySortedMap(map);
+      case LinkedHashMap<?, ?> map -> copyLinkedMap(map);
       case Map<?, ?> map -> deepCopyMap(map);
       case List<?> list -> list.stream().map(OptionsBuilder::copyValue).toList();
       case Set<?> set -> set.stream().map(OptionsBuilder::copyValue).collect(Collectors.toSet());
@@ -101,14 +171,14 @@ public class OptionsBuilder<T extends Options<T>, B extends OptionsBuilder<T, B>
    * Creates the options builder from the given Options Class, values and program arguments.
    *
    * @param optionsClass       the class of the options
-   * @param optionDefs         the options definition
+   * @param model              the model of the options
    * @param values             the values of the options
    * @param dynamicExtensions  the dynamic extensions to apply
    */
-  private OptionsBuilder(Class<T> optionsClass, Collection<OptionDef> optionDefs,
-      Map<OptionDef, Object> values, List<OptionsExtension> dynamicExtensions) {
+  private OptionsBuilder(Class<T> optionsClass, OptionsModel model,
+      OptionValues values, List<OptionsExtension> dynamicExtensions) {
     this.optionsClass = optionsClass;
-    this.optionDefs = new HashSet<>(optionDefs);
+    this.model = model;
     this.values = values;
     this.args = new String[0];
     this.dynamicExtensions = List.copyOf(dynamicExtensions);
@@ -118,20 +188,20 @@ public class OptionsBuilder<T extends Options<T>, B extends OptionsBuilder<T, B>
    * Creates the options builder from the given Options Class, values and program arguments.
    *
    * @param optionsClass       the class of the options
-   * @param optionDefs         the options definition
+   * @param model              the model of the options
    * @param values             the values of the options
    * @param dynamicExtensions  the dynamic extensions to apply
    * @param args               the program arguments
    */
-  private OptionsBuilder(Class<T> optionsClass, Set<OptionDef> optionDefs,
+  private OptionsBuilder(Class<T> optionsClass, OptionsModel model,
       Map<String, Object> values, List<OptionsExtension> dynamicExtensions, String... args) {
     this.optionsClass = optionsClass;
-    this.optionDefs = optionDefs;
-    this.values = new HashMap<>();
+    this.model = model;
+    this.values = new OptionValues(model);
     this.args = args;
     this.dynamicExtensions = List.copyOf(dynamicExtensions);
 
-    optionDefs.forEach(optionDef -> {
+    model.options().forEach(optionDef -> {
       Object value = values.get(optionDef.name());
 
       if (optionDef.isOptionsType()) {
@@ -139,7 +209,8 @@ public class OptionsBuilder<T extends Options<T>, B extends OptionsBuilder<T, B>
           value = new HashMap<>();
         }
         if (value instanceof Map<?, ?> map) {
-          this.values.put(optionDef, new OptionsBuilder(optionDef.classType(), optionDef.children(), map, dynamicExtensions, args));
+          this.values.put(optionDef, new OptionsBuilder(optionDef.classType(), model.child(optionDef), map,
+              dynamicExtensions, args));
         } else {
           throw new IllegalArgumentException(
               "The nested values for '" + optionDef.path() + "' must be a Map");
@@ -174,7 +245,7 @@ public class OptionsBuilder<T extends Options<T>, B extends OptionsBuilder<T, B>
     if (optionDef == null) {
       throw new IllegalArgumentException("OptionDef cannot be null");
     }
-    values.put(optionDef, parse(optionDef, value));
+    values.store(optionDef, intern(model, optionDef, parse(optionDef, value)));
   }
 
   /**
@@ -199,6 +270,34 @@ public class OptionsBuilder<T extends Options<T>, B extends OptionsBuilder<T, B>
     builder.setValue(path[path.length - 1], value);
   }
 
+  /**
+   * Sets the values of the options. The key is the name or alias of the option or the path of the
+   * nested option with the names separated by dots, e.g. {@code database.port}. The values must be
+   * of the same type as the options or String.
+   *
+   * @param values the values of the options by their keys or paths
+   */
+  public void setValues(Map<String, ?> values) {
+    values.forEach((key, value) -> {
+      if (key.indexOf('.') >= 0 && !optionsByKey().containsKey(key)) {
+        setValue(value, key.split("\\."));
+      } else {
+        setValue(key, value);
+      }
+    });
+  }
+
+  /**
+   * Sets the values of the options.
+   *
+   * @param values the values of the options by their keys or paths
+   * @see #setValues(Map)
+   */
+  public OptionsBuilder<T, B> withValues(Map<String, ?> values) {
+    setValues(values);
+    return this;
+  }
+
   /**
    * Sets the value of the option. The value must be of the same type as the option or String.
    *
@@ -286,7 +385,19 @@ public class OptionsBuilder<T extends Options<T>, B extends OptionsBuilder<T, B>
   }
 
   /**
-   * Returns values of the options in unmodifiableMap.
+   * Returns true if the option holds the string value which is not parsed yet. The values of the
+   * {@link LazyParsing} options are parsed on the first access.
+   *
+   * @param optionDef the option definition
+   * @return true if the value of the option is not parsed yet
+   */
+  public boolean isUnparsed(OptionDef optionDef) {
+    int slot = model.slot(optionDef);
+    return slot >= 0 && values.isUnparsed(slot);
+  }
+
+  /**
+   * Returns the values of the options. The map is a live view of the values of the builder.
    *
    * @return the values of the options
    */
@@ -294,6 +405,15 @@ public class OptionsBuilder<T extends Options<T>, B extends OptionsBuilder<T, B>
     return values;
   }
 
+  /**
+   * Returns the copy of the values for the options instance built from this builder.
+   *
+   * @return the copy of the values
+   */
+  OptionValues valuesCopy() {
+    return values.copy().freeze();
+  }
+
   /**
    * Resets the value of the option to its default value.
    *
@@ -327,13 +447,34 @@ public class OptionsBuilder<T extends Options<T>, B extends OptionsBuilder<T, B>
     return dynamicExtensions;
   }
 
+  /**
+   * Adds the layer of the variables loaded for this build only, e.g. from the .env file. The
+   * extensions loading the environment variables read the layers after the environment, so the
+   * environment variables take precedence over the layers and the layers added first take
+   * precedence over the later ones.
+   *
+   * @param variables the variables of the layer
+   */
+  public void addVariableLayer(Map<String, String> variables) {
+    variableLayers.add(variables);
+  }
+
+  /**
+   * Returns the layers of the variables added for this build.
+   *
+   * @return the unmodifiable list of the layers
+   */
+  public List<Map<String, String>> variableLayers() {
+    return Collections.unmodifiableList(variableLayers);
+  }
+
   /**
    * Returns the options definition.
    *
    * @return the options definition
    */
   public Set<OptionDef> options() {
-    return optionDefs;
+    return model.options();
   }
 
   /**
@@ -342,8 +483,7 @@ public class OptionsBuilder<T extends Options<T>, B extends OptionsBuilder<T, B>
    * @return the options definition
    */
   public Map<String, OptionDef> optionsByName() {
-    return optionDefs.stream()
-        .collect(Collectors.toMap(OptionDef::name, o -> o));
+    return model.optionsByName();
   }
 
   /**
@@ -352,9 +492,27 @@ public class OptionsBuilder<T extends Options<T>, B extends OptionsBuilder<T, B>
    * @return the options definition
    */
   public Map<String, OptionDef> optionsByKey() {
-    return optionDefs.stream()
-        .flatMap(o -> o.keys().stream().map(k -> Map.entry(k, o)))
-        .collect(Collectors.toMap(Entry::getKey, Entry::getValue));
+    return model.optionsByKey();
+  }
+
+  /**
+   * Returns the options definitions of this and all nested options by their dotted path of java
+   * names, e.g. {@code database.port}.
+   *
+   * @return the options definition
+   */
+  public Map<String, OptionDef> optionsByPath() {
+    return model.optionsByPath();
+  }
+
+  /**
+   * Returns the options definitions which are not nested options by all of their keys joined with
+   * the keys of the options they are nested in by double underscore, e.g. {@code DATABASE__PORT}.
+   *
+   * @return the options definition
+   */
+  public Map<String, OptionDef> optionsByNestedKey() {
+    return model.optionsByNestedKey();
   }
 
   /**
@@ -366,6 +524,15 @@ public class OptionsBuilder<T extends Options<T>, B extends OptionsBuilder<T, B>
     return optionsClass;
   }
 
+  /**
+   * Returns the precomputed model of the options interface.
+   *
+   * @return the model of the options
+   */
+  OptionsModel model() {
+    return model;
+  }
+
   /**
    * Creates a new instance of the Options from the builder.
    *
@@ -388,8 +555,21 @@ public class OptionsBuilder<T extends Options<T>, B extends OptionsBuilder<T, B>
     return false;
   }
 
-  @SneakyThrows
   private Object parse(OptionDef optionDef, Object value) {
+    return parse(model, optionDef, value);
+  }
+
+  /**
+   * Converts the value to the type of the option. The string value is parsed, the string value of
+   * the {@link LazyParsing} option is stored unparsed.
+   *
+   * @param model     the model of the options
+   * @param optionDef the option definition
+   * @param value     the value of the option
+   * @return the value of the option
+   * @throws IllegalArgumentException if the value cannot be converted
+   */
+  static Object parse(OptionsModel model, OptionDef optionDef, Object value) {
     if (value == null) {
       return null;
     } else if (optionDef.javaType() == value.getClass()) {
@@ -398,9 +578,10 @@ public class OptionsBuilder<T extends Options<T>, B extends OptionsBuilder<T, B>
         value.getClass(), c, true)) {
       return value;
     } else if (value instanceof String s) {
-      Class<? extends ValueParser> parser = optionDef.parser();
-      return parser.getDeclaredConstructor().newInstance().parse((Class<?>) optionDef.javaType(),
-          optionDef.getGenericReturnTypes(), s);
+      if (model.lazy() && model.slot(optionDef) >= 0) {
+        return new OptionValues.Unparsed(s);
+      }
+      return model.parse(optionDef, s);
     } else {
       throw new IllegalArgumentException(
           "Cannot parse " + value.getClass() + " to " + optionDef.javaType());
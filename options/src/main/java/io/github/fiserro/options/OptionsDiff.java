@@ -0,0 +1,74 @@
+package io.github.fiserro.options;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Finds the options whose values differ between two instances of the same options interface. The
+ * values are compared slot by slot and the nested options are compared only if they are not the
+ * same instance, so the options derived from each other are compared without visiting the shared
+ * subtrees. The values which are not parsed yet are compared as strings.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class OptionsDiff {
+
+  /**
+   * Returns the changes of the options from the previous to the new instance. The nested options
+   * are not reported as changed, their changed options are reported instead.
+   *
+   * @param before the previous instance of the options
+   * @param after  the new instance of the options
+   * @param <T>    the type of the options
+   * @return the changes in the order of the option names
+   * @throws IllegalArgumentException if the options are not the instances of the same interface
+   */
+  public static <T extends Options<T>> List<OptionChange> diff(T before, T after) {
+    List<OptionChange> changes = new ArrayList<>();
+    diff("", before, after, changes);
+    return changes;
+  }
+
+  private static void diff(String prefix, Options<?> before, Options<?> after,
+      List<OptionChange> changes) {
+    if (before == after) {
+      return;
+    }
+    AbstractOptions<?> previous = (AbstractOptions<?>) before;
+    AbstractOptions<?> next = (AbstractOptions<?>) after;
+    if (previous.optionsClass() != next.optionsClass()) {
+      throw new IllegalArgumentException("Cannot compare the options of "
+          + previous.optionsClass().getName() + " and " + next.optionsClass().getName());
+    }
+    Map<OptionDef, Object> previousValues = previous.internalValues();
+    Map<OptionDef, Object> nextValues = next.internalValues();
+    OptionsModel model = previousValues instanceof OptionValues values
+        ? values.model()
+        : OptionsModel.of(previous.optionsClass());
+    for (int slot = 0; slot < model.size(); slot++) {
+      OptionDef option = model.option(slot);
+      if (previousValues instanceof OptionValues values
+          && nextValues instanceof OptionValues other && values.same(other, slot)) {
+        continue;
+      }
+      Object oldValue = previousValues.get(option);
+      Object newValue = nextValues.get(option);
+      if (oldValue instanceof Options<?> oldOptions && newValue instanceof Options<?> newOptions) {
+        diff(prefix + option.name() + ".", oldOptions, newOptions, changes);
+        continue;
+      }
+      if (oldValue == null && option.hasDefaultMethod()) {
+        oldValue = previous.getValue(option);
+      }
+      if (newValue == null && option.hasDefaultMethod()) {
+        newValue = next.getValue(option);
+      }
+      if (!Objects.deepEquals(oldValue, newValue)) {
+        changes.add(new OptionChange(prefix + option.name(), option, oldValue, newValue));
+      }
+    }
+  }
+}
@@ -0,0 +1,631 @@
+package io.github.fiserro.options;
+
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static net.bytebuddy.matcher.ElementMatchers.takesNoArguments;
+
+import com.google.common.base.Preconditions;
+import io.github.fiserro.options.extension.OptionExtensionScanner;
+import io.github.fiserro.options.extension.OptionExtensionType;
+import io.github.fiserro.options.extension.OptionsExtension;
+import io.github.fiserro.options.extension.validation.AbstractOptionsValidator;
+import jakarta.validation.ConstraintViolation;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import lombok.Singular;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.asm.Advice;
+import net.bytebuddy.description.field.FieldDescription;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.modifier.FieldManifestation;
+import net.bytebuddy.description.modifier.Visibility;
+import net.bytebuddy.dynamic.DynamicType.Builder;
+import net.bytebuddy.dynamic.DynamicType.Unloaded;
+import net.bytebuddy.dynamic.scaffold.subclass.ConstructorStrategy;
+import net.bytebuddy.implementation.DefaultMethodCall;
+import net.bytebuddy.implementation.FieldAccessor;
+import net.bytebuddy.implementation.Implementation;
+import net.bytebuddy.implementation.Implementation.Context;
+import net.bytebuddy.implementation.MethodCall;
+import net.bytebuddy.implementation.MethodDelegation;
+import net.bytebuddy.implementation.bytecode.ByteCodeAppender;
+import net.bytebuddy.implementation.bytecode.StackManipulation;
+import net.bytebuddy.implementation.bytecode.assign.Assigner;
+import net.bytebuddy.implementation.bytecode.assign.Assigner.Typing;
+import net.bytebuddy.implementation.bytecode.constant.TextConstant;
+import net.bytebuddy.implementation.bytecode.member.FieldAccess;
+import net.bytebuddy.implementation.bytecode.member.MethodInvocation;
+import net.bytebuddy.implementation.bytecode.member.MethodReturn;
+import net.bytebuddy.implementation.bytecode.member.MethodVariableAccess;
+import net.bytebuddy.implementation.bind.annotation.AllArguments;
+import net.bytebuddy.implementation.bind.annotation.DefaultMethod;
+import net.bytebuddy.implementation.bind.annotation.Origin;
+import net.bytebuddy.implementation.bind.annotation.RuntimeType;
+import net.bytebuddy.implementation.bind.annotation.This;
+import net.bytebuddy.jar.asm.MethodVisitor;
+import net.bytebuddy.matcher.ElementMatchers;
+
+/**
+ * Factory for creating options instances.
+ */
+@Slf4j
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class OptionsFactory {
+
+    /**
+     * The generated implementation classes of the options interfaces. Every build with an already
+     * seen {@link Shape} only calls the cached constructor, so no new class is defined.
+     */
+    private static final ClassValue<Map<Shape, Constructor<?>>> IMPLEMENTATIONS = new ClassValue<>() {
+        @Override
+        protected Map<Shape, Constructor<?>> computeValue(Class<?> optionsInterface) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    /**
+     * Suffix of the implementation class generated at compile time by the options annotation
+     * processor. The implementation of {@code com.example.App.Config} is
+     * {@code com.example.App_Config_Impl}.
+     */
+    public static final String GENERATED_IMPLEMENTATION_SUFFIX = "_Impl";
+
+    /**
+     * The implementation classes generated at compile time. The options interface without the
+     * generated implementation falls back to the implementation generated by ByteBuddy.
+     */
+    private static final ClassValue<Optional<Constructor<?>>> GENERATED_IMPLEMENTATIONS = new ClassValue<>() {
+        @Override
+        protected Optional<Constructor<?>> computeValue(Class<?> optionsInterface) {
+            return generatedImplementation(optionsInterface);
+        }
+    };
+
+    /**
+     * The options constructors of the implementation classes.
+     */
+    private static final ClassValue<Constructor<?>> CONSTRUCTORS = new ClassValue<>() {
+        @Override
+        @SneakyThrows
+        protected Constructor<?> computeValue(Class<?> implementation) {
+            return implementation.getDeclaredConstructor(Class.class, Map.class, Map.class,
+                    List.class);
+        }
+    };
+
+    /**
+     * Creates the options instance with the given program arguments.
+     *
+     * @param optionsClass the class of the options
+     * @param args         the program arguments
+     * @param <T>          the type of the options
+     * @return the options instance
+     */
+    public static <T extends Options<T>> T create(Class<T> optionsClass, String... args) {
+        return create(optionsClass, new HashMap<>(), args);
+    }
+
+    /**
+     * Creates the options instance with the given dynamic extensions and program arguments.
+     *
+     * @param optionsClass       the class of the options
+     * @param dynamicExtensions  the dynamic extensions to apply
+     * @param args               the program arguments
+     * @param <T>                the type of the options
+     * @return the options instance
+     */
+    public static <T extends Options<T>> T create(Class<T> optionsClass,
+            List<OptionsExtension> dynamicExtensions, String... args) {
+        return create(optionsClass, new HashMap<>(), dynamicExtensions, args);
+    }
+
+    /**
+     * Creates the options instance with the given values and program arguments. You can prefill the
+     * options with the values. Those value will have the lowest possible priority comparing to all
+     * standard value-setting extensions. It means the prefill values will be overwritten by the
+     * values from any other source. Fill the values is  the easiest way how to set the values of the
+     * options programmatically without setting the environment variables etc.
+     *
+     * @param optionsClass the class of the options
+     * @param values       the values of the options
+     * @param args         the program arguments
+     * @param <T>          the type of the options
+     * @return the options instance
+     */
+    public static <T extends Options<T>> T create(
+            Class<T> optionsClass, Map<String, Object> values, String... args) {
+        return create(optionsClass, values, Collections.emptyList(), args);
+    }
+
+    /**
+     * Creates the options instance with the given values, dynamic extensions, and program arguments.
+     * You can prefill the options with the values. Those value will have the lowest possible priority
+     * comparing to all standard value-setting extensions. It means the prefill values will be
+     * overwritten by the values from any other source. Fill the values is the easiest way how to set
+     * the values of the options programmatically without setting the environment variables etc.
+     *
+     * @param optionsClass       the class of the options
+     * @param values             the values of the options
+     * @param dynamicExtensions  the dynamic extensions to apply
+     * @param args               the program arguments
+     * @param <T>                the type of the options
+     * @return the options instance
+     */
+    @lombok.Builder(builderClassName = "$OptionsBuilder")
+    public static <T extends Options<T>> T create(
+            Class<T> optionsClass, @Singular Map<String, Object> values, @Singular List<OptionsExtension> dynamicExtensions,
+            String... args) {
+        OptionsBuilder<T, ?> optionsBuilder = OptionsBuilder.newBuilder(optionsClass, values, dynamicExtensions, args);
+        return buildOptions(optionsBuilder);
+    }
+
+    /**
+     * Creates the options from the given Options Builder. Before the options are created, the
+     * extensions are applied to the builder.
+     *
+     * @param optionsBuilder the options builder
+     * @param <T>            the type of the options
+     * @param <B>            the type of the builder
+     * @return the options builder
+     */
+    @SneakyThrows
+    static <T extends Options<T>, B extends OptionsBuilder<T, B>> T buildOptions(
+            OptionsBuilder<T, B> optionsBuilder) {
+
+        applyExtensions(optionsBuilder);
+
+        OptionsModel model = optionsBuilder.model();
+        Set<String> getters = new HashSet<>();
+        for (OptionDef optionDef : model.options()) {
+            if (!optionsBuilder.values().containsKey(optionDef) && optionDef.hasDefaultMethod()) {
+                // do not intercept default getters when the value is not set
+                continue;
+            }
+            if (optionsBuilder.isUnparsed(optionDef)) {
+                // the value is parsed by the getter on the first access
+                getters.add(optionDef.name());
+                continue;
+            }
+            Object value = optionsBuilder.getValueOrPrimitiveDefault(optionDef);
+            if (optionDef.isOptionsType()) {
+                optionsBuilder.setValue(optionDef, buildOptions((OptionsBuilder<?, ?>) value));
+                value = optionsBuilder.getValueOrPrimitiveDefault(optionDef);
+            }
+            if (value != null && !optionsBuilder.values().containsKey(optionDef)) {
+                optionsBuilder.setValue(optionDef, value);
+            }
+
+            Preconditions.checkState(
+                    value == null || optionDef.wrapperType().isAssignableFrom(value.getClass()),
+                    "The value of the option %s is not of the expected type %s but it is %s",
+                    optionDef.name(),
+                    optionDef.javaType(), value == null ? null : value.getClass());
+            getters.add(optionDef.name());
+        }
+
+        Constructor<?> constructor = constructor(optionsBuilder.optionsInterface(), model, getters);
+        //noinspection unchecked
+        return (T) constructor.newInstance(optionsBuilder.optionsInterface(), optionsBuilder.valuesCopy(),
+                optionsBuilder.optionsByKey(), optionsBuilder.dynamicExtensions());
+    }
+
+    /**
+     * Returns the implementation class of the options interface which intercepts the getters of the
+     * given values, the same class {@link #buildOptions} uses for them. The getter of the option
+     * with the default method is intercepted only when the option has the value.
+     *
+     * @param optionsInterface the options interface
+     * @param model            the model of the options interface
+     * @param values           the values of the options
+     * @return the implementation class
+     */
+    static Class<?> implementation(Class<?> optionsInterface, OptionsModel model,
+            Map<OptionDef, Object> values) {
+        Set<String> getters = new HashSet<>();
+        for (OptionDef optionDef : model.options()) {
+            if (values.containsKey(optionDef) || !optionDef.hasDefaultMethod()) {
+                getters.add(optionDef.name());
+            }
+        }
+        return constructor(optionsInterface, model, getters).getDeclaringClass();
+    }
+
+    private static Constructor<?> constructor(Class<?> optionsInterface, OptionsModel model,
+            Set<String> getters) {
+        return GENERATED_IMPLEMENTATIONS.get(optionsInterface)
+                .orElseGet(() -> IMPLEMENTATIONS.get(optionsInterface)
+                        // Always intercept withers - they must work even when using default values
+                        .computeIfAbsent(new Shape(Set.copyOf(getters), model.withers()),
+                                shape -> implement(model, shape)));
+    }
+
+    /**
+     * Returns true if the options are the instance of the implementation generated at compile time.
+     *
+     * @param options the options
+     * @return true if the options are implemented at compile time
+     */
+    static boolean isGeneratedAtCompileTime(AbstractOptions<?> options) {
+        return GENERATED_IMPLEMENTATIONS.get(options.optionsClass())
+                .filter(constructor -> constructor.getDeclaringClass() == options.getClass())
+                .isPresent();
+    }
+
+    /**
+     * Returns the constructor of the implementation generated at compile time for the given options
+     * interface.
+     *
+     * @param optionsInterface the options interface
+     * @return the constructor of the generated implementation or empty if there is none
+     */
+    private static Optional<Constructor<?>> generatedImplementation(Class<?> optionsInterface) {
+        String packagePrefix = optionsInterface.getPackageName().isEmpty()
+                ? "" : optionsInterface.getPackageName() + ".";
+        String simpleName = optionsInterface.getName().substring(packagePrefix.length())
+                .replace('$', '_');
+        try {
+            Class<?> implementation = Class.forName(
+                    packagePrefix + simpleName + GENERATED_IMPLEMENTATION_SUFFIX, false,
+                    optionsInterface.getClassLoader());
+            if (!optionsInterface.isAssignableFrom(implementation)
+                    || !AbstractOptions.class.isAssignableFrom(implementation)) {
+                log.warn("{} does not implement {}, it is ignored", implementation.getName(),
+                        optionsInterface.getSimpleName());
+                return Optional.empty();
+            }
+            return Optional.of(implementation.getConstructor(Class.class, Map.class, Map.class,
+                    List.class));
+        } catch (ClassNotFoundException e) {
+            return Optional.empty();
+        } catch (NoSuchMethodException e) {
+            throw new OptionsException("Generated implementation of "
+                    + optionsInterface.getSimpleName() + " has no options constructor");
+        }
+    }
+
+    /**
+     * Generates the implementation class of the options interface for the given shape and returns
+     * its constructor.
+     *
+     * @param model the model of the options interface
+     * @param shape the intercepted getters and withers
+     * @return the constructor of the generated class
+     */
+    @SneakyThrows
+    private static Constructor<?> implement(OptionsModel model, Shape shape) {
+        Class<?> optionsInterface = model.optionsInterface();
+        boolean fieldBacked = optionsInterface.isAnnotationPresent(FieldBacked.class);
+        Builder<?> builder = new ByteBuddy()
+                .subclass(AbstractOptions.class, ConstructorStrategy.Default.NO_CONSTRUCTORS)
+                .implement(optionsInterface);
+
+        for (String wither : shape.withers()) {
+            builder = builder.method(named(wither).and(ElementMatchers.takesArguments(1)))
+                    .intercept(MethodDelegation.to(WithValueInterceptor.class));
+        }
+        Advice scopedOverride = Advice.to(ScopedOverrideAdvice.class);
+        for (String getter : shape.getters()) {
+            if (fieldBacked) {
+                builder = builder.defineField(getter, optionsInterface.getMethod(getter).getReturnType(),
+                                Visibility.PRIVATE, FieldManifestation.FINAL)
+                        .method(named(getter).and(takesNoArguments()))
+                        .intercept(scopedOverride.wrap(FieldAccessor.ofField(getter)));
+            } else {
+                builder = builder.method(named(getter).and(takesNoArguments()))
+                        .intercept(scopedOverride.wrap(MethodDelegation.to(GetValueInterceptor.class)));
+            }
+        }
+
+        List<Method> derived = model.cachedDerived();
+        Set<String> derivedNames = derived.stream().map(Method::getName).collect(Collectors.toSet());
+        for (OptionDef option : model.options()) {
+            if (option.hasDefaultMethod() && !shape.getters().contains(option.name())
+                    && !derivedNames.contains(option.name())) {
+                // the default getter which is not intercepted still reads the scoped overrides
+                builder = builder.method(named(option.name()).and(takesNoArguments()))
+                        .intercept(scopedOverride.wrap(DefaultMethodCall.unambiguousOnly()));
+            }
+        }
+        for (int slot = 0; slot < derived.size(); slot++) {
+            builder = builder.method(named(derived.get(slot).getName()).and(takesNoArguments()))
+                    .intercept(MethodDelegation.to(new DerivedValueInterceptor(slot, derived.size())));
+        }
+
+        Constructor<?> superConstructor = AbstractOptions.class.getDeclaredConstructor(Class.class,
+                Map.class, Map.class, List.class);
+        Implementation constructor = fieldBacked
+                ? MethodCall.invoke(superConstructor).withAllArguments()
+                        .andThen(new Implementation.Simple(new FieldInitializer(shape.getters())))
+                : MethodCall.invoke(superConstructor).withAllArguments();
+        builder = builder.defineConstructor(Visibility.PUBLIC)
+                .withParameters(superConstructor.getParameterTypes())
+                .intercept(constructor);
+
+        try (Unloaded<?> unloaded = builder.make()) {
+            // Use the classloader of the options interface to avoid ClassCastException
+            // when the interface is loaded by a different classloader (e.g., OpenHAB scripts)
+            ClassLoader classLoader = optionsInterface.getClassLoader();
+            Class<?> dynamicType = unloaded.load(classLoader)
+                    .getLoaded();
+            log.debug("Generated {} implementing {} with {} intercepted getters", dynamicType.getName(),
+                    optionsInterface.getSimpleName(), shape.getters().size());
+            return dynamicType.getDeclaredConstructor(Class.class, Map.class, Map.class, List.class);
+        }
+    }
+
+    /**
+     * Getters and withers intercepted by a generated implementation class. The getter of an option
+     * with a default method is intercepted only when the value is set, so one options interface may
+     * have more implementation classes.
+     *
+     * @param getters the names of the intercepted getters
+     * @param withers the names of the intercepted withers
+     */
+    private record Shape(Set<String> getters, Set<String> withers) {
+
+    }
+
+    /**
+     * Initializes the fields of the {@link FieldBacked} implementation in its constructor. Every
+     * field is set to the value of the option of the same name, unboxed for primitive options.
+     */
+    @RequiredArgsConstructor
+    private static class FieldInitializer implements ByteCodeAppender {
+
+        private static final MethodDescription FIELD_VALUE = new MethodDescription.ForLoadedMethod(
+                fieldValueMethod());
+
+        private final Set<String> fields;
+
+        @SneakyThrows
+        private static Method fieldValueMethod() {
+            return AbstractOptions.class.getDeclaredMethod("fieldValue", String.class);
+        }
+
+        @Override
+        public Size apply(MethodVisitor methodVisitor, Context context,
+                          MethodDescription instrumentedMethod) {
+            List<StackManipulation> code = new ArrayList<>();
+            for (String field : fields) {
+                FieldDescription fieldDescription = instrumentedMethod.getDeclaringType()
+                        .getDeclaredFields()
+                        .filter(named(field))
+                        .getOnly();
+                code.add(MethodVariableAccess.loadThis());
+                code.add(MethodVariableAccess.loadThis());
+                code.add(new TextConstant(field));
+                code.add(MethodInvocation.invoke(FIELD_VALUE));
+                code.add(Assigner.DEFAULT.assign(FIELD_VALUE.getReturnType(), fieldDescription.getType(),
+                        Typing.DYNAMIC));
+                code.add(FieldAccess.forField(fieldDescription).write());
+            }
+            code.add(MethodReturn.VOID);
+            StackManipulation.Size size = new StackManipulation.Compound(code)
+                    .apply(methodVisitor, context);
+            return new Size(size.getMaximalSize(), instrumentedMethod.getStackSize());
+        }
+    }
+
+    @NoArgsConstructor(access = AccessLevel.PRIVATE)
+    public static class GetValueInterceptor {
+
+        @RuntimeType
+        public static Object intercept(@This AbstractOptions<?> self, @Origin Method method) {
+            return self.getInternalValue(method.getName());
+        }
+    }
+
+    /**
+     * Wraps the getter of the option, the getter returns the {@link ScopedOverrides} value of the
+     * option in the active scope instead of its own value.
+     */
+    @NoArgsConstructor(access = AccessLevel.PRIVATE)
+    public static class ScopedOverrideAdvice {
+
+        @Advice.OnMethodEnter(skipOn = Advice.OnNonDefaultValue.class)
+        static Object enter(@Advice.This Object self, @Advice.Origin("#m") String name) {
+            return ScopedOverrides.override(self, name);
+        }
+
+        @Advice.OnMethodExit
+        static void exit(@Advice.Enter Object override,
+                         @Advice.Return(readOnly = false, typing = Typing.DYNAMIC) Object value) {
+            if (override != null) {
+                value = ScopedOverrides.value(override);
+            }
+        }
+    }
+
+    /**
+     * Intercepts the {@link Derived} method with the cached value. Every derived method of the
+     * options interface has its own slot.
+     */
+    @RequiredArgsConstructor
+    public static class DerivedValueInterceptor {
+
+        private final int slot;
+        private final int slots;
+
+        @RuntimeType
+        public Object intercept(@This AbstractOptions<?> self, @DefaultMethod Method method) {
+            return self.derivedValue(slot, slots, method);
+        }
+    }
+
+    @NoArgsConstructor(access = AccessLevel.PRIVATE)
+    public static class WithValueInterceptor {
+
+        @RuntimeType
+        public static Object intercept(@This AbstractOptions<?> self,
+                                       @Origin Method method,
+                                       @AllArguments Object[] args) {
+            String name = OptionScanner.nameOfWither(method);
+            return self.withValue(name, args[0]);
+        }
+    }
+
+
+    /**
+     * Creates the instance of the implementation class of the options with the given values.
+     *
+     * @param implementation    the implementation class of the options
+     * @param optionsClass      the options interface
+     * @param values            the values of the options
+     * @param optionsByKey      the options by their keys
+     * @param dynamicExtensions the dynamic extensions
+     * @param <T>               the type of the options
+     * @return the options instance
+     */
+    @SneakyThrows
+    static <T extends Options<T>> T newInstance(Class<?> implementation, Class<T> optionsClass,
+            Map<OptionDef, Object> values, Map<String, OptionDef> optionsByKey,
+            List<OptionsExtension> dynamicExtensions) {
+        if (values instanceof OptionValues optionValues) {
+            optionValues.freeze();
+        }
+        //noinspection unchecked
+        return (T) CONSTRUCTORS.get(implementation).newInstance(optionsClass, values, optionsByKey,
+                dynamicExtensions);
+    }
+
+    /**
+     * Creates the overlay of the base options with the changed values. The overlay keeps only the
+     * changed values and the reference to the base options, its getters return the changed value
+     * or the value of the base options. So many overlays of the same base, e.g. the options of the
+     * tenants, take the memory of their changes only. The key is the name or alias of the option or
+     * the dotted path of the nested option, the null value resets the option. The extensions are
+     * not applied to the changed values and the overlay is not validated.
+     *
+     * @param base   the base options, the overlay of the overlay has the same base
+     * @param values the changed values by the keys or the paths of the options
+     * @param <T>    the type of the options
+     * @return the overlay of the base options
+     * @throws IllegalArgumentException if the key or the type of the value is invalid
+     */
+    public static <T extends Options<T>> T overlay(T base, Map<String, ?> values) {
+        if (!(base instanceof AbstractOptions<?> abstractOptions)) {
+            throw new IllegalArgumentException("The options are not created by the OptionsFactory");
+        }
+        //noinspection unchecked
+        return ((AbstractOptions<T>) abstractOptions).overlay(values);
+    }
+
+    /**
+     * Clones the options instance.
+     *
+     * @param options the options instance
+     * @param <T>     the type of the options
+     * @return the cloned options instance
+     */
+    @SneakyThrows
+    public static <T extends Options<T>> T clone(T options) {
+        return options.toBuilder().build();
+    }
+
+    /**
+     * Validates the options.
+     *
+     * @param options the options to be validated
+     */
+    public static <T extends Options<T>> Set<ConstraintViolation<T>> validate(
+            Options<T> options) {
+        OptionsBuilder<T, ?> builder = options.toBuilder();
+        return validate(options, builder);
+    }
+
+
+    /**
+     * Validates the options.
+     *
+     * @param builder the options builder to be validated
+     */
+    private static <T extends Options<T>> Set<ConstraintViolation<T>> validate(
+            Options<T> options, OptionsBuilder<?, ?> builder) {
+
+        Stream<ConstraintViolation<T>> childrenViolations = builder.values().entrySet().stream()
+                .filter(e -> e.getKey().isOptionsType())
+                .map(e -> (OptionsBuilder<?, ?>) e.getValue())
+                .flatMap(subBuilder -> validate(options, subBuilder).stream());
+
+        // Get annotation-based validation extensions
+        Stream<ConstraintViolation<T>> annotationViolations = new OptionExtensionScanner().scan(
+                        builder.optionsInterface())
+                .getOrDefault(OptionExtensionType.VALIDATION, List.of())
+                .stream()
+                .map(e -> (AbstractOptionsValidator<T>) e)
+                .flatMap(e -> e.validate(options, builder).stream());
+
+        // Get dynamic validation extensions
+        Stream<ConstraintViolation<T>> dynamicViolations = builder.dynamicExtensions().stream()
+                .filter(e -> e.type() == OptionExtensionType.VALIDATION)
+                .map(e -> (AbstractOptionsValidator<T>) e)
+                .flatMap(e -> e.validate(options, builder).stream());
+
+        return Stream.concat(
+                        childrenViolations,
+                        Stream.concat(annotationViolations, dynamicViolations))
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Applies the extensions to the options builder.
+     *
+     * @param optionsBuilder the options builder
+     */
+    private static <T extends Options<T>, B extends OptionsBuilder<T, B>> void applyExtensions(
+            OptionsBuilder<T, B> optionsBuilder) {
+        OptionExtensionScanner scanner = new OptionExtensionScanner();
+        Map<OptionExtensionType, List<OptionsExtension>> annotationExtensions = scanner.scan(
+                optionsBuilder.optionsInterface());
+
+        // Merge dynamic extensions with annotation-based extensions
+        Map<OptionExtensionType, List<OptionsExtension>> allExtensions = new TreeMap<>(annotationExtensions);
+
+        for (OptionsExtension dynamicExt : optionsBuilder.dynamicExtensions()) {
+            OptionExtensionType type = dynamicExt.type();
+            List<OptionsExtension> existing = allExtensions.computeIfAbsent(type, k -> new ArrayList<>());
+
+            // Validate exclusivity: cannot mix annotation-based and dynamic extensions of the same exclusive type
+            if (type.exclusive() && !existing.isEmpty()) {
+                throw new OptionExtensionScanner.IllegalExtensionException(
+                        "Cannot add dynamic extension of exclusive type " + type +
+                                " when annotation-based extension already exists for interface " +
+                                optionsBuilder.optionsInterface().getSimpleName());
+            }
+
+            existing.add(dynamicExt);
+        }
+
+        // Validate no duplicate exclusive types in dynamic extensions
+        optionsBuilder.dynamicExtensions().stream()
+                .filter(e -> e.type().exclusive())
+                .collect(Collectors.groupingBy(OptionsExtension::type))
+                .forEach((type, list) -> {
+                    if (list.size() > 1) {
+                        throw new OptionExtensionScanner.IllegalExtensionException(
+                                "Multiple dynamic extensions of exclusive type " + type +
+                                        " for interface " + optionsBuilder.optionsInterface().getSimpleName());
+                    }
+                });
+
+        // Apply extensions in reverse order (highest priority last)
+        Stream.of(OptionExtensionType.values())
+                .sorted(Comparator.reverseOrder())
+                .filter(allExtensions::containsKey)
+                .filter(type -> type != OptionExtensionType.VALIDATION)
+                .map(allExtensions::get)
+                .flatMap(List::stream)
+                .forEach(extension -> extension.extend(optionsBuilder));
+    }
+
+}
\ No newline at end of file
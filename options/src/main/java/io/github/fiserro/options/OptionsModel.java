@@ -0,0 +1,371 @@
+package io.github.fiserro.options;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import lombok.SneakyThrows;
+
+/**
+ * Immutable model of the options interface precomputed by the {@link OptionScanner}. The model is
+ * computed once per options interface and nesting, every builder, clone and validation of the
+ * options reuses it.
+ */
+final class OptionsModel {
+
+  /**
+   * The separator of the nested option names in the nested keys, e.g. {@code DATABASE__PORT}.
+   */
+  static final String NESTED_KEY_SEPARATOR = "__";
+
+  /**
+   * The models of the options interfaces by their option definitions. The model of the top level
+   * options has the null key, the nested options are the models of every option definition of the
+   * nesting, so two options interfaces nesting the same options under the same name have their own
+   * models with their own defaults and annotations.
+   */
+  private static final ClassValue<Map<OptionDef, OptionsModel>> MODELS = new ClassValue<>() {
+    @Override
+    protected Map<OptionDef, OptionsModel> computeValue(Class<?> optionsInterface) {
+      return Collections.synchronizedMap(new IdentityHashMap<>());
+    }
+  };
+
+  /**
+   * The parser instances shared by all options. The parsers have to be stateless.
+   */
+  private static final ClassValue<ValueParser> PARSERS = new ClassValue<>() {
+    @Override
+    @SneakyThrows
+    protected ValueParser computeValue(Class<?> parserClass) {
+      return (ValueParser) parserClass.getDeclaredConstructor().newInstance();
+    }
+  };
+
+  private final Class<?> optionsInterface;
+  private final Set<OptionDef> options;
+  private final OptionDef[] slots;
+  private final Map<OptionDef, Integer> slotsByOption;
+  private final int[] copiedSlots;
+  private final List<Function<String, Object>> converters;
+  private final Map<String, OptionDef> optionsByName;
+  private final Map<String, OptionDef> optionsByKey;
+  private final Map<String, OptionDef> optionsByPath;
+  private final Map<String, OptionDef> optionsByNestedKey;
+  private final Map<String, OptionsModel> children;
+  private final Set<String> withers;
+  private final List<Method> cachedDerived;
+  private final boolean lazy;
+  private final boolean interned;
+
+  private OptionsModel(Class<?> optionsInterface, Collection<OptionDef> options) {
+    this.optionsInterface = optionsInterface;
+    this.options = Set.copyOf(options);
+    // the options are numbered by their names, so the slots do not depend on the scan order
+    this.slots = options.stream()
+        .sorted(Comparator.comparing(OptionDef::name))
+        .toArray(OptionDef[]::new);
+    this.slotsByOption = new IdentityHashMap<>(slots.length);
+    for (int slot = 0; slot < slots.length; slot++) {
+      slotsByOption.put(slots[slot], slot);
+    }
+    this.copiedSlots = Stream.of(slots)
+        .filter(OptionsModel::isCopied)
+        .mapToInt(slotsByOption::get)
+        .toArray();
+    this.converters = Stream.of(slots)
+        .map(OptionsModel::converter)
+        .toList();
+    this.optionsByName = options.stream()
+        .collect(Collectors.toUnmodifiableMap(OptionDef::name, o -> o));
+    this.optionsByKey = options.stream()
+        .flatMap(o -> o.keys().stream().map(k -> Map.entry(k, o)))
+        .collect(Collectors.toUnmodifiableMap(Entry::getKey, Entry::getValue));
+    this.withers = options.stream()
+        .filter(OptionDef::hasWither)
+        .map(o -> o.wither().getName())
+        .collect(Collectors.toUnmodifiableSet());
+    this.cachedDerived = new OptionScanner().scanCachedDerived(optionsInterface);
+    this.lazy = optionsInterface.isAnnotationPresent(LazyParsing.class);
+    this.interned = optionsInterface.isAnnotationPresent(Interned.class);
+
+    Map<String, OptionsModel> nestedModels = new HashMap<>();
+    Map<String, OptionDef> byPath = new HashMap<>();
+    Map<String, OptionDef> byNestedKey = new HashMap<>();
+    for (OptionDef option : options) {
+      byPath.put(option.name(), option);
+      if (option.isOptionsType()) {
+        OptionsModel nested = register(option.classType(), option.children(),
+            new OptionsModel(option.classType(), option.children()));
+        nestedModels.put(option.name(), nested);
+        nested.optionsByPath.forEach((path, o) -> byPath.put(option.name() + "." + path, o));
+        nested.optionsByNestedKey.forEach((nestedKey, o) -> option.keys()
+            .forEach(key -> byNestedKey.put(key + NESTED_KEY_SEPARATOR + nestedKey, o)));
+      } else {
+        option.keys().forEach(key -> byNestedKey.put(key, option));
+      }
+    }
+    this.children = Map.copyOf(nestedModels);
+    this.optionsByPath = Map.copyOf(byPath);
+    this.optionsByNestedKey = Map.copyOf(byNestedKey);
+  }
+
+  /**
+   * Returns the model of the top level options interface.
+   *
+   * @param optionsInterface the options interface
+   * @return the model of the options interface
+   */
+  static OptionsModel of(Class<?> optionsInterface) {
+    OptionsModel model = MODELS.get(optionsInterface).get(null);
+    if (model != null) {
+      return model;
+    }
+    OptionsModel created = new OptionsModel(optionsInterface,
+        new OptionScanner().scan(optionsInterface));
+    OptionsModel previous = MODELS.get(optionsInterface).putIfAbsent(null, created);
+    return previous == null ? created : previous;
+  }
+
+  /**
+   * Returns the model the given option definitions belong to. The options nested in other options
+   * have the model of their nesting path.
+   *
+   * @param optionsInterface the options interface
+   * @param options          the option definitions of the options interface
+   * @return the model of the options interface
+   */
+  static OptionsModel of(Class<?> optionsInterface, Collection<OptionDef> options) {
+    OptionDef option = options.stream().findAny().orElse(null);
+    OptionsModel model = option == null ? null : MODELS.get(optionsInterface).get(option);
+    if (model != null) {
+      return model;
+    }
+    if (option == null || option.path().parent().equals(OptionPath.empty())) {
+      return of(optionsInterface);
+    }
+    return register(optionsInterface, options, new OptionsModel(optionsInterface, options));
+  }
+
+  /**
+   * Registers the model of the nested options by all of its option definitions, the model
+   * registered first wins.
+   */
+  private static OptionsModel register(Class<?> optionsInterface, Collection<OptionDef> options,
+      OptionsModel model) {
+    Map<OptionDef, OptionsModel> models = MODELS.get(optionsInterface);
+    synchronized (models) {
+      OptionsModel previous = options.stream().findAny().map(models::get).orElse(null);
+      if (previous != null) {
+        return previous;
+      }
+      options.forEach(option -> models.put(option, model));
+      return model;
+    }
+  }
+
+  /**
+   * Returns the options interface.
+   *
+   * @return the options interface
+   */
+  Class<?> optionsInterface() {
+    return optionsInterface;
+  }
+
+  /**
+   * Returns the immutable set of the option definitions.
+   *
+   * @return the option definitions
+   */
+  Set<OptionDef> options() {
+    return options;
+  }
+
+  /**
+   * Returns the number of the options, which is the number of the value slots.
+   *
+   * @return the number of the options
+   */
+  int size() {
+    return slots.length;
+  }
+
+  /**
+   * Returns the option stored in the given slot.
+   *
+   * @param slot the slot of the option
+   * @return the option definition
+   */
+  OptionDef option(int slot) {
+    return slots[slot];
+  }
+
+  /**
+   * Returns the slot of the value of the given option. The option does not have to be the same
+   * instance as the option of this model, it is matched by its name then.
+   *
+   * @param optionDef the option definition
+   * @return the slot of the option or -1 if the option does not belong to this model
+   */
+  int slot(OptionDef optionDef) {
+    Integer slot = slotsByOption.get(optionDef);
+    if (slot != null) {
+      return slot;
+    }
+    OptionDef own = optionsByName.get(optionDef.name());
+    return own == null ? -1 : slotsByOption.get(own);
+  }
+
+  /**
+   * Returns the slots of the options whose values are copied to the new builder: the nested options
+   * and the collections.
+   *
+   * @return the slots of the copied values
+   */
+  int[] copiedSlots() {
+    return copiedSlots;
+  }
+
+  /**
+   * Parses the string value of the option with the conversion resolved by its parser.
+   *
+   * @param optionDef the option definition
+   * @param value     the string value
+   * @return the parsed value
+   */
+  Object parse(OptionDef optionDef, String value) {
+    int slot = slot(optionDef);
+    if (slot < 0) {
+      return PARSERS.get(optionDef.parser())
+          .parse(optionDef.classType(), optionDef.getGenericReturnTypes(), value);
+    }
+    return converters.get(slot).apply(value);
+  }
+
+  private static Function<String, Object> converter(OptionDef option) {
+    ValueParser parser = PARSERS.get(option.parser());
+    Class<?> type = option.classType();
+    Type[] genericTypes = option.getGenericReturnTypes();
+    try {
+      return parser.converter(option);
+    } catch (RuntimeException e) {
+      // the option type is not supported by the parser, it fails when the value is parsed
+      return value -> parser.parse(type, genericTypes, value);
+    }
+  }
+
+  /**
+   * Returns true if the value of the option is copied to the new builder. The immutable collections
+   * are not copied.
+   */
+  private static boolean isCopied(OptionDef option) {
+    Class<?> type = option.classType();
+    if (type == IntSet.class || type == LongSet.class) {
+      return false;
+    }
+    return Options.class.isAssignableFrom(type)
+        || Collection.class.isAssignableFrom(type) || Map.class.isAssignableFrom(type)
+        || type.isAssignableFrom(List.class) || type.isAssignableFrom(Set.class)
+        || type.isAssignableFrom(Map.class);
+  }
+
+  /**
+   * Returns the immutable map of the option definitions by the java name of the option.
+   *
+   * @return the option definitions by name
+   */
+  Map<String, OptionDef> optionsByName() {
+    return optionsByName;
+  }
+
+  /**
+   * Returns the immutable map of the option definitions by all of their keys.
+   *
+   * @return the option definitions by key
+   */
+  Map<String, OptionDef> optionsByKey() {
+    return optionsByKey;
+  }
+
+  /**
+   * Returns the immutable map of the option definitions of this and all nested options by their
+   * dotted path of java names, e.g. {@code database.port}.
+   *
+   * @return the option definitions by path
+   */
+  Map<String, OptionDef> optionsByPath() {
+    return optionsByPath;
+  }
+
+  /**
+   * Returns the immutable map of the options which are not nested options by all of their keys
+   * joined with the keys of the options they are nested in by {@value #NESTED_KEY_SEPARATOR}, e.g.
+   * {@code DATABASE__PORT}.
+   *
+   * @return the option definitions by nested key
+   */
+  Map<String, OptionDef> optionsByNestedKey() {
+    return optionsByNestedKey;
+  }
+
+  /**
+   * Returns the model of the nested options.
+   *
+   * @param optionDef the option of the nested options
+   * @return the model of the nested options
+   */
+  OptionsModel child(OptionDef optionDef) {
+    OptionsModel child = children.get(optionDef.name());
+    if (child == null) {
+      throw new IllegalArgumentException("The option " + optionDef.name() + " is not nested");
+    }
+    return child;
+  }
+
+  /**
+   * Returns the names of the wither methods.
+   *
+   * @return the names of the withers
+   */
+  Set<String> withers() {
+    return withers;
+  }
+
+  /**
+   * Returns the {@link Derived} methods with the cached value sorted by name.
+   *
+   * @return the derived methods
+   */
+  List<Method> cachedDerived() {
+    return cachedDerived;
+  }
+
+  /**
+   * Returns true if the string values of the options are parsed on the first access.
+   *
+   * @return true if the options are {@link LazyParsing}
+   */
+  boolean lazy() {
+    return lazy;
+  }
+
+  /**
+   * Returns true if the equal values of the options are shared between the instances.
+   *
+   * @return true if the options are {@link Interned}
+   */
+  boolean interned() {
+    return interned;
+  }
+}
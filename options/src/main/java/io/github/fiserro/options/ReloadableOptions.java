@@ -0,0 +1,211 @@
+package io.github.fiserro.options;
+
+import io.github.fiserro.options.extension.EnvironmentFile;
+import io.github.fiserro.options.extension.EnvironmentFileLayer;
+import jakarta.validation.ConstraintViolation;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Handle of the options which are rebuilt when the watched files change, e.g. the .env file of the
+ * {@link EnvironmentFile} extension. The rebuilt options are validated and they replace the current
+ * options only if they are valid, otherwise the current options are kept. The options are
+ * immutable, so the readers get the consistent snapshot by {@link #get()}, which is a single
+ * volatile read. The {@link #listeners() listeners} are notified about the changed options after
+ * the reload.
+ * <p>The files are watched by the {@link WatchService} on the daemon thread until the handle is
+ * closed.
+ *
+ * @param <T> the type of the options
+ */
+@Slf4j
+public final class ReloadableOptions<T extends Options<T>> implements Supplier<T>, AutoCloseable {
+
+  private static final long QUIET_PERIOD_MILLIS = 100;
+
+  private final Supplier<T> factory;
+  private final Set<Path> files;
+  private final WatchService watchService;
+  private final Map<WatchKey, Path> directories = new HashMap<>();
+  private final OptionChangeListeners<T> listeners = new OptionChangeListeners<>();
+  private volatile T current;
+
+  private ReloadableOptions(Supplier<T> factory, Set<Path> files) throws IOException {
+    this.factory = factory;
+    this.files = files;
+    this.current = factory.get().validated();
+    this.watchService = FileSystems.getDefault().newWatchService();
+    try {
+      for (Path file : files) {
+        Path directory = file.getParent();
+        if (!directories.containsValue(directory)) {
+          // the files replaced by the editors are created again, so the creation is watched too
+          directories.put(directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+              StandardWatchEventKinds.ENTRY_MODIFY), directory);
+        }
+      }
+    } catch (IOException e) {
+      watchService.close();
+      throw e;
+    }
+    Thread watcher = new Thread(this::watch, "options-reload");
+    watcher.setDaemon(true);
+    watcher.start();
+  }
+
+  /**
+   * Creates the options from the program arguments and watches the .env file of the
+   * {@link EnvironmentFile} extension, which is resolved from the arguments the same way as by the
+   * extension.
+   *
+   * @param optionsClass the class of the options
+   * @param args         the program arguments
+   * @param <T>          the type of the options
+   * @return the reloadable options
+   * @throws IOException if the file cannot be watched
+   * @throws io.github.fiserro.options.extension.validation.ValidateOptionsException if the
+   *                     options are not valid
+   */
+  public static <T extends Options<T>> ReloadableOptions<T> watch(Class<T> optionsClass,
+      String... args) throws IOException {
+    return watch(() -> OptionsFactory.create(optionsClass, args),
+        EnvironmentFile.resolvePath(args));
+  }
+
+  /**
+   * Creates the options by the factory and creates them again whenever one of the files changes.
+   *
+   * @param factory the factory of the options, it reads the files
+   * @param files   the watched files
+   * @param <T>     the type of the options
+   * @return the reloadable options
+   * @throws IOException if the files cannot be watched
+   * @throws io.github.fiserro.options.extension.validation.ValidateOptionsException if the
+   *                     options are not valid
+   */
+  public static <T extends Options<T>> ReloadableOptions<T> watch(Supplier<T> factory,
+      Path... files) throws IOException {
+    Set<Path> paths = new HashSet<>();
+    for (Path file : files) {
+      paths.add(file.toAbsolutePath().normalize());
+    }
+    return new ReloadableOptions<>(factory, Set.copyOf(paths));
+  }
+
+  /**
+   * Returns the current options.
+   *
+   * @return the current options
+   */
+  @Override
+  public T get() {
+    return current;
+  }
+
+  /**
+   * Returns the listeners notified about the options changed by the reload.
+   *
+   * @return the listeners of the changed options
+   */
+  public OptionChangeListeners<T> listeners() {
+    return listeners;
+  }
+
+  /**
+   * Creates and validates the options and replaces the current options if they are valid. It is
+   * called when the watched files change, but it can be called directly as well.
+   *
+   * @return true if the current options were replaced
+   */
+  public synchronized boolean reload() {
+    // the file can be changed twice within the resolution of its modification time
+    files.forEach(EnvironmentFileLayer::evict);
+    T options;
+    Set<ConstraintViolation<T>> violations;
+    try {
+      options = factory.get();
+      // the validation parses the lazy parsed values, so it fails on the invalid value as well
+      violations = options.validate();
+    } catch (RuntimeException e) {
+      log.warn("Failed to reload the options, keeping the current ones: {}", e.getMessage());
+      return false;
+    }
+    if (!violations.isEmpty()) {
+      log.warn("The reloaded options are not valid, keeping the current ones: {}",
+          violations.stream().map(ConstraintViolation::getMessage).sorted().toList());
+      return false;
+    }
+    T previous = current;
+    current = options;
+    listeners.fire(previous, options);
+    return true;
+  }
+
+  /**
+   * Stops watching the files. The current options are still available.
+   *
+   * @throws IOException if the watch service cannot be closed
+   */
+  @Override
+  public void close() throws IOException {
+    watchService.close();
+  }
+
+  private void watch() {
+    try {
+      while (true) {
+        boolean changed = changed(watchService.take());
+        // the file written in several steps is reloaded once it is not changed for a while
+        for (WatchKey key; (key = watchService.poll(QUIET_PERIOD_MILLIS, TimeUnit.MILLISECONDS))
+            != null; ) {
+          changed |= changed(key);
+        }
+        if (changed) {
+          reloadQuietly();
+        }
+      }
+    } catch (ClosedWatchServiceException e) {
+      log.debug("Stopped watching {}", files);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Reloads the options from the watching thread, which has to keep watching whatever the reload
+   * throws.
+   */
+  private void reloadQuietly() {
+    try {
+      reload();
+    } catch (RuntimeException e) {
+      log.warn("Failed to reload the options, keeping the current ones", e);
+    }
+  }
+
+  private boolean changed(WatchKey key) {
+    Path directory = directories.get(key);
+    boolean changed = false;
+    for (WatchEvent<?> event : key.pollEvents()) {
+      if (event.kind() == StandardWatchEventKinds.OVERFLOW
+          || files.contains(directory.resolve((Path) event.context()))) {
+        changed = true;
+      }
+    }
+    key.reset();
+    return changed;
+  }
+}
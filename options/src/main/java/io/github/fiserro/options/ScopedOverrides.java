@@ -0,0 +1,199 @@
+package io.github.fiserro.options;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Overrides of the options values for the code running in the scope, e.g. a request or a job. The
+ * getters of the options read the override of the option while the scope is active in the current
+ * thread and they read the values of the options again when the scope ends, so no options instance
+ * is created for the overrides.
+ * <pre>{@code
+ * ScopedOverrides.where(options, "timeout", Duration.ofSeconds(1))
+ *     .and(options, "featureEnabled", true)
+ *     .run(() -> handle(request));
+ * }</pre>
+ * <p>The override applies to all the options instances of the same options interface, including
+ * the instances nested in other options, as the overrides are keyed by the options interface and
+ * the name of the option. The scopes
+ * can be nested, the inner scope overrides the options of the outer scope. The scope is bound to
+ * the thread running it, so it works with the virtual threads, but the threads started in the
+ * scope do not inherit it.
+ * <p>The getters of the options implementations generated at runtime read the overrides of the
+ * current thread. The getters check the number of the active scopes of all the threads first, so
+ * the overrides cost one read of the counter while no scope is active. The {@link Derived} values
+ * are not cached while a scope is active in the current thread. The getters of the implementations
+ * generated at compile time do not read the overrides, so their options cannot be overridden.
+ */
+public final class ScopedOverrides {
+
+  private static final ThreadLocal<Map<Class<?>, Map<String, Object>>> CURRENT = new ThreadLocal<>();
+  private static final Object NULL_VALUE = new Object();
+
+  /**
+   * The number of the active scopes of all the threads. It changes only when a scope is entered or
+   * exited, so the getters read it without contention.
+   */
+  private static final AtomicInteger ACTIVE = new AtomicInteger();
+
+  private final Map<Class<?>, Map<String, Object>> overrides;
+
+  private ScopedOverrides(Map<Class<?>, Map<String, Object>> overrides) {
+    this.overrides = overrides;
+  }
+
+  /**
+   * Creates the overrides with the value of the option.
+   *
+   * @param options the options the overridden option belongs to
+   * @param key     the name or alias of the option
+   * @param value   the value of the option, the string value is parsed
+   * @return the overrides
+   * @throws IllegalArgumentException if the key or the value is not valid or if the options cannot
+   *                                  be overridden
+   */
+  public static ScopedOverrides where(Options<?> options, String key, Object value) {
+    return new ScopedOverrides(Map.of()).and(options, key, value);
+  }
+
+  /**
+   * Returns the overrides with the value of another option.
+   *
+   * @param options the options the overridden option belongs to
+   * @param key     the name or alias of the option
+   * @param value   the value of the option, the string value is parsed
+   * @return the new overrides
+   * @throws IllegalArgumentException if the key or the value is not valid or if the options cannot
+   *                                  be overridden
+   */
+  public ScopedOverrides and(Options<?> options, String key, Object value) {
+    if (!(options instanceof AbstractOptions<?> abstractOptions)
+        || OptionsFactory.isGeneratedAtCompileTime(abstractOptions)) {
+      throw new IllegalArgumentException("Cannot override the options " + options.getClass()
+          + ", only the options implemented at runtime read the overrides");
+    }
+    OptionDef optionDef = abstractOptions.optionDef(key);
+    if (optionDef == null) {
+      throw new IllegalArgumentException("Invalid key: " + key);
+    }
+    OptionsModel model = abstractOptions.internalValues() instanceof OptionValues values
+        ? values.model()
+        : OptionsModel.of(abstractOptions.optionsClass());
+    Object parsed = OptionsBuilder.parse(model, optionDef, value);
+    if (parsed instanceof OptionValues.Unparsed unparsed) {
+      parsed = model.parse(optionDef, unparsed.value());
+    }
+    if (parsed == null ? optionDef.isPrimitive()
+        : !optionDef.wrapperType().isAssignableFrom(parsed.getClass())) {
+      throw new IllegalArgumentException("Cannot override the option " + optionDef.name()
+          + " of type " + optionDef.javaType() + " with " + parsed);
+    }
+    Map<String, Object> override = Map.of(optionDef.name(), parsed == null ? NULL_VALUE : parsed);
+    return new ScopedOverrides(merge(overrides, Map.of(abstractOptions.optionsClass(), override)));
+  }
+
+  /**
+   * Runs the operation with the overrides.
+   *
+   * @param operation the operation
+   */
+  public void run(Runnable operation) {
+    Map<Class<?>, Map<String, Object>> outer = enter();
+    try {
+      operation.run();
+    } finally {
+      exit(outer);
+    }
+  }
+
+  /**
+   * Calls the operation with the overrides.
+   *
+   * @param operation the operation
+   * @param <R>       the type of the result
+   * @return the result of the operation
+   * @throws Exception if the operation fails
+   */
+  public <R> R call(Callable<R> operation) throws Exception {
+    Map<Class<?>, Map<String, Object>> outer = enter();
+    try {
+      return operation.call();
+    } finally {
+      exit(outer);
+    }
+  }
+
+  private Map<Class<?>, Map<String, Object>> enter() {
+    Map<Class<?>, Map<String, Object>> outer = CURRENT.get();
+    CURRENT.set(outer == null ? overrides : merge(outer, overrides));
+    ACTIVE.incrementAndGet();
+    return outer;
+  }
+
+  /**
+   * Returns the overrides of the outer scope overridden by the inner overrides.
+   */
+  private static Map<Class<?>, Map<String, Object>> merge(
+      Map<Class<?>, Map<String, Object>> outer, Map<Class<?>, Map<String, Object>> inner) {
+    Map<Class<?>, Map<String, Object>> merged = new IdentityHashMap<>(outer);
+    inner.forEach((optionsInterface, values) -> merged.merge(optionsInterface, values,
+        (outerValues, innerValues) -> {
+          Map<String, Object> mergedValues = new HashMap<>(outerValues);
+          mergedValues.putAll(innerValues);
+          return mergedValues;
+        }));
+    return merged;
+  }
+
+  private static void exit(Map<Class<?>, Map<String, Object>> outer) {
+    ACTIVE.decrementAndGet();
+    if (outer == null) {
+      CURRENT.remove();
+    } else {
+      CURRENT.set(outer);
+    }
+  }
+
+  /**
+   * Returns the override of the option in the current scope or null if the option is not
+   * overridden. This method is called by the getters of the generated implementations and should
+   * not be used in the application code.
+   *
+   * @param options the options
+   * @param name    the name of the option
+   * @return the override of the option, see {@link #value(Object)}, or null
+   */
+  public static Object override(Object options, String name) {
+    if (ACTIVE.get() == 0) {
+      return null;
+    }
+    Map<Class<?>, Map<String, Object>> scope = CURRENT.get();
+    Map<String, Object> overrides = scope == null ? null
+        : scope.get(((AbstractOptions<?>) options).optionsClass());
+    return overrides == null ? null : overrides.get(name);
+  }
+
+  /**
+   * Returns true if a scope is active in the current thread.
+   *
+   * @return true if a scope is active in the current thread
+   */
+  static boolean active() {
+    return ACTIVE.get() != 0 && CURRENT.get() != null;
+  }
+
+  /**
+   * Returns the value of the override returned by {@link #override(Object, String)}. This method
+   * is called by the getters of the generated implementations and should not be used in the
+   * application code.
+   *
+   * @param override the override
+   * @return the value of the override
+   */
+  public static Object value(Object override) {
+    return override == NULL_VALUE ? null : override;
+  }
+}
@@ -0,0 +1,158 @@
+package io.github.fiserro.options;
+
+import com.google.common.collect.ImmutableCollection;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.Period;
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The table of the canonical values of the {@link Interned} options. The equal values are replaced
+ * by the canonical one, so they share one object. The table holds the canonical values weakly, the
+ * value is dropped from it when no options hold it.
+ * <p>The strings, the boxed primitives, the big numbers, the time values, the URIs, the UUIDs and
+ * the {@link IntSet} and {@link LongSet} are interned. The immutable lists, sets and maps are
+ * interned when all their elements are immutable and the options are interned as a whole. The
+ * mutable values are never shared, only the lists of the options are made immutable like the
+ * copies of the options make them. The canonical value is always of the same class as the
+ * replaced one.
+ */
+public final class ValueInterner {
+
+  private static final Set<Class<?>> IMMUTABLE_TYPES = Set.of(String.class, Integer.class,
+      Long.class, Short.class, Byte.class, Double.class, Float.class, Character.class,
+      BigDecimal.class, BigInteger.class, URI.class, UUID.class, Duration.class, Period.class,
+      Instant.class, LocalDate.class, LocalTime.class, LocalDateTime.class, OffsetDateTime.class,
+      ZonedDateTime.class, IntSet.class, LongSet.class);
+  /**
+   * The class enclosing the immutable collections of the JDK, e.g. {@code List.of()}.
+   */
+  private static final Class<?> JDK_IMMUTABLE_COLLECTIONS = List.of().getClass()
+      .getEnclosingClass();
+  /**
+   * The interners by the class of the values, so the canonical value is of the same class as the
+   * replaced one even if they are equal, e.g. the equal {@link IntSet} and {@code Set.of()}.
+   */
+  private static final ClassValue<Interner<Object>> INTERNERS = new ClassValue<>() {
+    @Override
+    protected Interner<Object> computeValue(Class<?> type) {
+      return Interners.newWeakInterner();
+    }
+  };
+  private static final LongAdder LOOKUPS = new LongAdder();
+  private static final LongAdder HITS = new LongAdder();
+
+  private ValueInterner() {
+  }
+
+  /**
+   * Returns the canonical value of the option equal to the given value. The mutable list of the
+   * option of the {@code List} or {@code Collection} type is replaced by its immutable copy first,
+   * the same as when the options are copied.
+   *
+   * @param optionDef the option the value belongs to
+   * @param value     the value or null
+   * @return the canonical value, the value itself or null
+   */
+  static Object intern(OptionDef optionDef, Object value) {
+    if (value instanceof List<?> list && !isImmutableCollection(list)
+        && (optionDef.classType() == List.class || optionDef.classType() == Collection.class)) {
+      return intern(list.stream().toList());
+    }
+    return intern(value);
+  }
+
+  /**
+   * Returns the canonical value equal to the given value. The value which cannot be shared is
+   * returned as it is.
+   *
+   * @param value the value or null
+   * @return the canonical value, the value itself or null
+   */
+  static Object intern(Object value) {
+    if (value instanceof Enum<?> || value instanceof Boolean
+        || !(value instanceof AbstractOptions<?>) && !isImmutable(value)) {
+      // the enums and the booleans are canonical already
+      return value;
+    }
+    Object canonical = INTERNERS.get(value.getClass()).intern(value);
+    LOOKUPS.increment();
+    if (canonical != value) {
+      HITS.increment();
+    }
+    return canonical;
+  }
+
+  private static boolean isImmutable(Object value) {
+    if (value == null) {
+      return false;
+    }
+    if (IMMUTABLE_TYPES.contains(value.getClass()) || value instanceof Enum<?>
+        || value instanceof Boolean) {
+      return true;
+    }
+    return switch (value) {
+      case Collection<?> collection when isImmutableCollection(collection) ->
+          collection.stream().allMatch(ValueInterner::isImmutable);
+      case Map<?, ?> map when isImmutableCollection(map) -> map.entrySet().stream()
+          .allMatch(e -> isImmutable(e.getKey()) && isImmutable(e.getValue()));
+      default -> false;
+    };
+  }
+
+  private static boolean isImmutableCollection(Object value) {
+    return value instanceof ImmutableCollection<?> || value instanceof ImmutableMap<?, ?>
+        || value.getClass().getEnclosingClass() == JDK_IMMUTABLE_COLLECTIONS;
+  }
+
+  /**
+   * Returns the statistics of the interning since the start or the last {@link #resetStats()}.
+   *
+   * @return the statistics
+   */
+  public static Stats stats() {
+    return new Stats(LOOKUPS.sum(), HITS.sum());
+  }
+
+  /**
+   * Resets the statistics of the interning. The canonical values are kept.
+   */
+  public static void resetStats() {
+    LOOKUPS.reset();
+    HITS.reset();
+  }
+
+  /**
+   * The statistics of the interning.
+   *
+   * @param lookups the number of the values looked up in the table
+   * @param hits    the number of the values replaced by the equal canonical value
+   */
+  public record Stats(long lookups, long hits) {
+
+    /**
+     * Returns the ratio of the values replaced by the canonical value.
+     *
+     * @return the hit rate from 0 to 1, 0 if no value was looked up
+     */
+    public double hitRate() {
+      return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+  }
+}
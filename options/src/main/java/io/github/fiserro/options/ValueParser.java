@@ -0,0 +1,48 @@
+package io.github.fiserro.options;
+
+import java.lang.reflect.Type;
+import java.util.function.Function;
+
+/**
+ * Interface for parsing string values to objects. It is used by {@link OptionsFactory} to parse
+ * values from environment variables, program arguments or configuration files. One instance of the
+ * parser is shared by all options, so the implementation has to be stateless.
+ */
+@FunctionalInterface
+public interface ValueParser {
+
+  /**
+   * Parses the string value to the object of the given type.
+   *
+   * @param type         the type of the object
+   * @param genericTypes the generic types of the object
+   * @param value        the string value
+   * @return the object of the given type
+   */
+  Object parse(Class<?> type, Type[] genericTypes, String value);
+
+  /**
+   * Returns the conversion of the string values to the objects of the given type. The conversion is
+   * resolved once for every option, so the parser does not have to find the right conversion for
+   * every parsed value. The default implementation calls {@link #parse(Class, Type[], String)}.
+   *
+   * @param type         the type of the object
+   * @param genericTypes the generic types of the object
+   * @return the conversion of the string value to the object of the given type
+   */
+  default Function<String, Object> converter(Class<?> type, Type[] genericTypes) {
+    return value -> parse(type, genericTypes, value);
+  }
+
+  /**
+   * Returns the conversion of the string values of the option. The parser can use the settings of
+   * the option, e.g. the separators of the collection elements. The default implementation calls
+   * {@link #converter(Class, Type[])} with the type of the option.
+   *
+   * @param option the option
+   * @return the conversion of the string value to the value of the option
+   */
+  default Function<String, Object> converter(OptionDef option) {
+    return converter(option.classType(), option.getGenericReturnTypes());
+  }
+}
@@ -0,0 +1,342 @@
+package io.github.fiserro.options;
+
+
+import static org.apache.commons.lang3.ClassUtils.isAssignable;
+
+import com.github.sisyphsu.dateparser.DateParserUtils;
+import com.google.common.collect.ImmutableMap;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Type;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+import lombok.SneakyThrows;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Default implementation of {@link ValueParser}
+ */
+public class ValueParserDefault implements ValueParser {
+
+    private static final char SEPARATOR = ',';
+    private static final char KEY_VALUE_SEPARATOR = '=';
+    private static final String DURATION_UNITS = "DHMS";
+    private static final long[] DURATION_UNIT_SECONDS = {86_400, 3_600, 60, 1};
+
+    @Override
+    public Object parse(Class<?> type, Type[] genericTypes, String stringValue) {
+        return converter(type, genericTypes).apply(stringValue);
+    }
+
+    @Override
+    public Function<String, Object> converter(Class<?> type, Type[] genericTypes) {
+        return converter(type, genericTypes, SEPARATOR, KEY_VALUE_SEPARATOR);
+    }
+
+    @Override
+    public Function<String, Object> converter(OptionDef option) {
+        return converter(option.classType(), option.getGenericReturnTypes(), option.separator(),
+                option.keyValueSeparator());
+    }
+
+    private Function<String, Object> converter(Class<?> type, Type[] genericTypes, char separator,
+            char keyValueSeparator) {
+        if (type == int[].class) {
+            return stringValue -> parseInts(stringValue, separator);
+        } else if (type == long[].class) {
+            return stringValue -> parseLongs(stringValue, separator);
+        } else if (type == double[].class) {
+            return stringValue -> parseDoubles(stringValue, separator);
+        } else if (type == IntSet.class) {
+            return stringValue -> {
+                int[] values = parseInts(stringValue, separator);
+                return IntSet.wrap(values, values.length);
+            };
+        } else if (type == LongSet.class) {
+            return stringValue -> {
+                long[] values = parseLongs(stringValue, separator);
+                return LongSet.wrap(values, values.length);
+            };
+        } else if (Collection.class.isAssignableFrom(type)) {
+
+            if (genericTypes.length != 1) {
+                throw new IllegalArgumentException("Collection type must have exactly one generic type");
+            }
+
+            IntFunction<Collection<Object>> collection;
+            if (type == Collection.class || type == List.class || type == ArrayList.class) {
+                collection = ArrayList::new;
+            } else if (type == Set.class && genericTypes[0] instanceof Class<?> c && c.isEnum()) {
+                collection = size -> enumSet(c);
+            } else if (type == Set.class) {
+                collection = HashSet::newHashSet;
+            } else {
+                throw new IllegalArgumentException("Unsupported collection type " + type);
+            }
+
+            Function<String, Object> innerConverter = valueConverter((Class<?>) genericTypes[0]);
+            return stringValue -> {
+                if (StringUtils.isBlank(stringValue)) {
+                    return collection.apply(0);
+                }
+                Collection<Object> value = collection.apply(
+                        ValueTokenizer.count(stringValue, separator));
+                ValueTokenizer.tokenize(stringValue, separator,
+                        sv -> value.add(innerConverter.apply(sv)));
+                return value;
+            };
+        } else if (Map.class.isAssignableFrom(type)) {
+            return mapConverter(type, genericTypes, separator, keyValueSeparator);
+        }
+        return valueConverter(type);
+    }
+
+    private Function<String, Object> mapConverter(Class<?> type, Type[] genericTypes, char separator,
+            char keyValueSeparator) {
+        if (genericTypes.length != 2
+                || !(genericTypes[0] instanceof Class<?> keyType)
+                || !(genericTypes[1] instanceof Class<?> valueType)) {
+            throw new IllegalArgumentException("Map type must have exactly two generic class types");
+        }
+        Function<String, Object> keyConverter = valueConverter(keyType);
+        Function<String, Object> valueConverter = valueConverter(valueType);
+
+        if (type == ImmutableMap.class) {
+            return stringValue -> {
+                if (StringUtils.isBlank(stringValue)) {
+                    return ImmutableMap.of();
+                }
+                ImmutableMap.Builder<Object, Object> map = ImmutableMap.builderWithExpectedSize(
+                        ValueTokenizer.count(stringValue, separator));
+                ValueTokenizer.entries(stringValue, separator, keyValueSeparator,
+                        (k, v) -> map.put(keyConverter.apply(k), valueConverter.apply(v)));
+                return map.buildKeepingLast();
+            };
+        }
+
+        IntFunction<Map<Object, Object>> map;
+        if (type == Map.class || type == HashMap.class) {
+            map = HashMap::newHashMap;
+        } else if (type == LinkedHashMap.class) {
+            map = LinkedHashMap::newLinkedHashMap;
+        } else if (type == SortedMap.class || type == NavigableMap.class || type == TreeMap.class) {
+            map = size -> new TreeMap<>();
+        } else {
+            throw new IllegalArgumentException("Unsupported map type " + type);
+        }
+        return stringValue -> {
+            if (StringUtils.isBlank(stringValue)) {
+                return map.apply(0);
+            }
+            Map<Object, Object> value = map.apply(ValueTokenizer.count(stringValue, separator));
+            ValueTokenizer.entries(stringValue, separator, keyValueSeparator,
+                    (k, v) -> value.put(keyConverter.apply(k), valueConverter.apply(v)));
+            return value;
+        };
+    }
+
+    private static int[] parseInts(String stringValue, char separator) {
+        if (StringUtils.isBlank(stringValue)) {
+            return new int[0];
+        }
+        int[] values = new int[ValueTokenizer.count(stringValue, separator)];
+        int[] length = new int[1];
+        ValueTokenizer.ranges(stringValue, separator, (start, end) ->
+                values[length[0]++] = Integer.parseInt(stringValue, start, end, 10));
+        return length[0] == values.length ? values : Arrays.copyOf(values, length[0]);
+    }
+
+    private static long[] parseLongs(String stringValue, char separator) {
+        if (StringUtils.isBlank(stringValue)) {
+            return new long[0];
+        }
+        long[] values = new long[ValueTokenizer.count(stringValue, separator)];
+        int[] length = new int[1];
+        ValueTokenizer.ranges(stringValue, separator, (start, end) ->
+                values[length[0]++] = Long.parseLong(stringValue, start, end, 10));
+        return length[0] == values.length ? values : Arrays.copyOf(values, length[0]);
+    }
+
+    private static double[] parseDoubles(String stringValue, char separator) {
+        if (StringUtils.isBlank(stringValue)) {
+            return new double[0];
+        }
+        double[] values = new double[ValueTokenizer.count(stringValue, separator)];
+        int[] length = new int[1];
+        ValueTokenizer.ranges(stringValue, separator, (start, end) ->
+                values[length[0]++] = Double.parseDouble(stringValue.substring(start, end)));
+        return length[0] == values.length ? values : Arrays.copyOf(values, length[0]);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Collection<Object> enumSet(Class<?> enumType) {
+        return (Collection) EnumSet.noneOf((Class<Enum>) enumType);
+    }
+
+    private Function<String, Object> valueConverter(Class<?> type) {
+        if (type.isAssignableFrom(String.class)) {
+            return stringValue -> stringValue;
+        } else if (isAssignable(type, Integer.class, true)) {
+            return Integer::valueOf;
+        } else if (isAssignable(type, Long.class, true)) {
+            return Long::valueOf;
+        } else if (isAssignable(type, Double.class, true)) {
+            return Double::valueOf;
+        } else if (isAssignable(type, Float.class, true)) {
+            return Float::valueOf;
+        } else if (isAssignable(type, Short.class, true)) {
+            return Short::valueOf;
+        } else if (isAssignable(type, Byte.class, true)) {
+            return Byte::valueOf;
+        } else if (isAssignable(type, Boolean.class, true)) {
+            return Boolean::valueOf;
+        } else if (type.isEnum()) {
+            EnumLookup lookup = EnumLookup.of(type);
+            return lookup::get;
+        } else if (type.isAssignableFrom(Date.class)) {
+            return isoOrElse(IsoDateTime::toDate, DateParserUtils::parseDate);
+        } else if (type.isAssignableFrom(LocalDate.class)) {
+            return isoOrElse(IsoDateTime::toLocalDate,
+                    stringValue -> DateParserUtils.parseDateTime(stringValue).toLocalDate());
+        } else if (type.isAssignableFrom(LocalDateTime.class)) {
+            return isoOrElse(IsoDateTime::toLocalDateTime, DateParserUtils::parseDateTime);
+        } else if (type.isAssignableFrom(OffsetDateTime.class)) {
+            return isoOrElse(IsoDateTime::toOffsetDateTime, DateParserUtils::parseOffsetDateTime);
+        } else if (type.isAssignableFrom(ZonedDateTime.class)) {
+            return isoOrElse(IsoDateTime::toZonedDateTime,
+                    stringValue -> DateParserUtils.parseOffsetDateTime(stringValue).toZonedDateTime());
+        } else if (type.isAssignableFrom(Instant.class)) {
+            return isoOrElse(IsoDateTime::toInstant,
+                    stringValue -> DateParserUtils.parseOffsetDateTime(stringValue).toInstant());
+        } else if (type.isAssignableFrom(Duration.class)) {
+            return ValueParserDefault::parseDuration;
+        }
+        return stringConstructor(type);
+    }
+
+    /**
+     * Parses the strict ISO-8601 value without the fuzzy date parser, which is used only when the
+     * value is not in the strict format.
+     */
+    private static Function<String, Object> isoOrElse(Function<IsoDateTime, Object> iso,
+            Function<String, Object> fallback) {
+        return stringValue -> {
+            IsoDateTime dateTime = IsoDateTime.parse(stringValue);
+            Object value = dateTime == null ? null : iso.apply(dateTime);
+            return value != null ? value : fallback.apply(stringValue);
+        };
+    }
+
+    private static Duration parseDuration(String stringValue) {
+        Duration duration = parseSimpleDuration(stringValue);
+        return duration != null ? duration : Duration.parse(stringValue);
+    }
+
+    /**
+     * Parses the duration in the ISO-8601 format {@code [-]PnDTnHnMn.nS} by a single scan of the
+     * characters. Returns null for the other formats accepted by {@link Duration#parse}, e.g. the
+     * negative parts or the lower case letters.
+     */
+    private static Duration parseSimpleDuration(String stringValue) {
+        int length = stringValue.length();
+        boolean negative = stringValue.startsWith("-");
+        int i = negative ? 1 : 0;
+        if (length < i + 3 || stringValue.charAt(i++) != 'P') {
+            return null;
+        }
+        boolean time = false;
+        int unit = 0;
+        long seconds = 0;
+        int nanos = 0;
+        try {
+            while (i < length) {
+                if (stringValue.charAt(i) == 'T') {
+                    if (time || ++i == length) {
+                        return null;
+                    }
+                    time = true;
+                    unit = 1;
+                    continue;
+                }
+                int start = i;
+                long number = 0;
+                while (i < length && isDigit(stringValue.charAt(i))) {
+                    number = Math.addExact(Math.multiplyExact(number, 10), stringValue.charAt(i++) - '0');
+                }
+                if (i == start || i == length) {
+                    return null;
+                }
+                char c = stringValue.charAt(i++);
+                if (c == '.') {
+                    int fractionStart = i;
+                    while (i < length && i - fractionStart < 9 && isDigit(stringValue.charAt(i))) {
+                        nanos = nanos * 10 + stringValue.charAt(i++) - '0';
+                    }
+                    if (i == fractionStart || i == length) {
+                        return null;
+                    }
+                    for (int digits = i - fractionStart; digits < 9; digits++) {
+                        nanos *= 10;
+                    }
+                    c = stringValue.charAt(i++);
+                    if (c != 'S') {
+                        return null;
+                    }
+                }
+                int index = DURATION_UNITS.indexOf(c, unit);
+                if (index < 0 || (index > 0) != time) {
+                    return null;
+                }
+                unit = index + 1;
+                seconds = Math.addExact(seconds, Math.multiplyExact(number, DURATION_UNIT_SECONDS[index]));
+            }
+        } catch (ArithmeticException e) {
+            return null;
+        }
+        return negative ? Duration.ofSeconds(-seconds, -nanos) : Duration.ofSeconds(seconds, nanos);
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private Function<String, Object> stringConstructor(Class<?> type) {
+        try {
+            Constructor<?> constructor = type.getConstructor(String.class);
+            return stringValue -> newInstance(constructor, stringValue);
+        } catch (NoSuchMethodException e) {
+            return stringValue -> rethrow(e);
+        }
+    }
+
+    @SneakyThrows
+    private static Object newInstance(Constructor<?> constructor, String stringValue) {
+        return constructor.newInstance(stringValue);
+    }
+
+    @SneakyThrows
+    private static Object rethrow(Exception e) {
+        throw e;
+    }
+}
@@ -0,0 +1,143 @@
+package io.github.fiserro.options;
+
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Splits the string value of the collection or map option into its elements in a single pass. A separator
+ * preceded by a backslash does not separate the elements and every double backslash is removed
+ * from the element, e.g. {@code a\\,b,c} has the elements {@code a,b} and {@code c}. The empty
+ * elements at the end of the value are ignored.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class ValueTokenizer {
+
+  private static final char ESCAPE = '\\';
+
+  /**
+   * Returns the maximal number of the elements of the value, it is used to pre-size the
+   * collections.
+   *
+   * @param value     the string value
+   * @param separator the separator of the elements
+   * @return the maximal number of the elements
+   */
+  static int count(String value, char separator) {
+    int count = 1;
+    for (int i = 0; i < value.length(); i++) {
+      if (value.charAt(i) == separator && (i == 0 || value.charAt(i - 1) != ESCAPE)) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Passes the elements of the value to the consumer in their order.
+   *
+   * @param value     the string value
+   * @param separator the separator of the elements
+   * @param consumer  the consumer of the elements
+   */
+  static void tokenize(String value, char separator, Consumer<String> consumer) {
+    ranges(value, separator, (start, end) -> consumer.accept(element(value, start, end)));
+  }
+
+  /**
+   * Passes the bounds of the elements of the value to the consumer in their order. The escape
+   * sequences are not removed from the elements, so the bounds suit the values which cannot
+   * contain the separator, e.g. numbers, which are parsed without creating the element strings.
+   *
+   * @param value     the string value
+   * @param separator the separator of the elements
+   * @param consumer  the consumer of the element bounds
+   */
+  static void ranges(String value, char separator, RangeConsumer consumer) {
+    int emptyElements = 0;
+    int start = 0;
+    int length = value.length();
+    for (int i = 0; i <= length; i++) {
+      if (i < length
+          && (value.charAt(i) != separator || (i > 0 && value.charAt(i - 1) == ESCAPE))) {
+        continue;
+      }
+      if (i == start) {
+        // the empty elements are passed only when they are followed by a non-empty element
+        emptyElements++;
+      } else {
+        for (; emptyElements > 0; emptyElements--) {
+          consumer.accept(start, start);
+        }
+        consumer.accept(start, i);
+      }
+      start = i + 1;
+    }
+  }
+
+  /**
+   * Passes the keys and the values of the map entries of the value to the consumer in their order.
+   * The entry is split by the first key-value separator which is not preceded by a backslash. The
+   * empty entries are ignored.
+   *
+   * @param value             the string value
+   * @param separator         the separator of the entries
+   * @param keyValueSeparator the separator of the key and the value of the entry
+   * @param consumer          the consumer of the keys and the values
+   * @throws OptionsException if an entry does not contain the key-value separator
+   */
+  static void entries(String value, char separator, char keyValueSeparator,
+      BiConsumer<String, String> consumer) {
+    ranges(value, separator, (start, end) -> {
+      if (start == end) {
+        return;
+      }
+      int split = start;
+      while (split < end && (value.charAt(split) != keyValueSeparator
+          || (split > 0 && value.charAt(split - 1) == ESCAPE))) {
+        split++;
+      }
+      if (split == end) {
+        throw new OptionsException("The map entry " + element(value, start, end)
+            + " does not contain the key-value separator " + keyValueSeparator);
+      }
+      consumer.accept(element(value, start, split), element(value, split + 1, end));
+    });
+  }
+
+  private static String element(String value, int start, int end) {
+    int escape = start;
+    while (escape < end && value.charAt(escape) != ESCAPE) {
+      escape++;
+    }
+    if (escape == end) {
+      return value.substring(start, end);
+    }
+    StringBuilder element = new StringBuilder(end - start).append(value, start, escape);
+    for (int i = escape; i < end; i++) {
+      char c = value.charAt(i);
+      if (c == ESCAPE && i + 1 < end && value.charAt(i + 1) == ESCAPE) {
+        i++;
+      } else {
+        element.append(c);
+      }
+    }
+    return element.toString();
+  }
+
+  /**
+   * Consumer of the bounds of the element.
+   */
+  @FunctionalInterface
+  interface RangeConsumer {
+
+    /**
+     * Accepts the bounds of the element.
+     *
+     * @param start the index of the first character of the element
+     * @param end   the index after the last character of the element
+     */
+    void accept(int start, int end);
+  }
+}
@@ -1,5 +1,6 @@
 package io.github.fiserro.options.example;
 
+import io.github.fiserro.options.Derived;
 import io.github.fiserro.options.Option;
 import io.github.fiserro.options.Options;
 import jakarta.validation.constraints.Max;
@@ -41,6 +42,7 @@ public interface JdbcProperties {
   @Option
   String database();
 
+  @Derived(cached = true)
   default String connectionString() {
     return switch (type()) {
       case MYSQL -> connectionString2();
@@ -0,0 +1,141 @@
+package io.github.fiserro.options.extension;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.experimental.UtilityClass;
+
+/**
+ * Utility class for getting environment variables.
+ * <p>The overrides of the environment variables are kept in an immutable snapshot. The readers
+ * take no lock, the writers copy the snapshot and swap it by compare-and-set, so every change is
+ * atomic and the readers see either the whole change or none of it.
+ */
+@UtilityClass
+public class Envio {
+
+  private static final AtomicReference<Overrides> overrides =
+      new AtomicReference<>(Overrides.EMPTY);
+
+  /**
+   * Returns the value of the environment variable. If the variable is not set, it returns
+   * <code>null</code>.
+   *
+   * @param name name of the property
+   * @return value of the property
+   */
+  public static String getVar(String name) {
+    return overrides.get().getVar(name);
+  }
+
+  public static void setVar(String name, String value) {
+    Overrides current;
+    do {
+      current = overrides.get();
+    } while (!overrides.compareAndSet(current, current.with(name, value)));
+  }
+
+  /**
+   * Puts <code>null</code> to overrides so {@link Envio} returns <code>null</code> even if
+   * {@link System#getenv(String)} returns a value
+   *
+   * @param name name of the property
+   * @return value of the property
+   */
+  public static String resetVar(String name) {
+    Overrides current;
+    do {
+      current = overrides.get();
+    } while (!overrides.compareAndSet(current, current.with(name, null)));
+    return current.values.get(name);
+  }
+
+  /**
+   * Puts <code>value</code> to overrides only if the property is not already set
+   *
+   * @param name  name of the property
+   * @param value value of the property
+   */
+  public static void setVarIfMissing(String name, String value) {
+    Overrides current;
+    do {
+      current = overrides.get();
+      if (current.getVar(name) != null) {
+        return;
+      }
+    } while (!overrides.compareAndSet(current, current.with(name, value)));
+  }
+
+  /**
+   * Returns the snapshot of the environment variables with the overrides applied. The variables
+   * reset by {@link #resetVar(String)} are not present in the snapshot. The snapshot is not changed
+   * by the later changes of the overrides.
+   *
+   * @return the unmodifiable map of the environment variables
+   */
+  public static Map<String, String> snapshot() {
+    return overrides.get().snapshot();
+  }
+
+  public static void clear() {
+    overrides.set(Overrides.EMPTY);
+  }
+
+  /**
+   * Immutable overrides of the environment variables. A null value hides the environment variable.
+   */
+  private static final class Overrides {
+
+    private static final Overrides EMPTY = new Overrides(Map.of());
+
+    private final Map<String, String> values;
+    private volatile Map<String, String> snapshot;
+
+    private Overrides(Map<String, String> values) {
+      this.values = values;
+    }
+
+    private String getVar(String name) {
+      if (values.containsKey(name)) {
+        return values.get(name);
+      }
+      return System.getenv(name);
+    }
+
+    private Overrides with(String name, String value) {
+      Map<String, String> copy = new HashMap<>(values);
+      copy.put(name, value);
+      return new Overrides(Collections.unmodifiableMap(copy));
+    }
+
+    /**
+     * Returns the environment with the overrides applied. It is computed once per overrides, the
+     * concurrent first calls may compute it more times but all the results are equal.
+     */
+    private Map<String, String> snapshot() {
+      Map<String, String> result = snapshot;
+      if (result == null) {
+        result = merge();
+        snapshot = result;
+      }
+      return result;
+    }
+
+    private Map<String, String> merge() {
+      Map<String, String> env = System.getenv();
+      if (values.isEmpty()) {
+        return env;
+      }
+      Map<String, String> merged = new HashMap<>(env);
+      values.forEach((name, value) -> {
+        if (value == null) {
+          merged.remove(name);
+        } else {
+          merged.put(name, value);
+        }
+      });
+      return Collections.unmodifiableMap(merged);
+    }
+  }
+}
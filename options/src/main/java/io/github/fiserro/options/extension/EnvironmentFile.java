@@ -2,9 +2,8 @@ package io.github.fiserro.options.extension;
 
 import io.github.fiserro.options.OptionsBuilder;
 import java.io.IOException;
-import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
-import java.util.stream.Stream;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -17,8 +16,11 @@ import lombok.extern.slf4j.Slf4j;
  *   <li>Environment variable: {@code ENV_FILE}</li>
  * </ul>
  * <p>
- * The extension loads values into {@link Envio#setVar(String, String)} first, then uses
- * {@link EnvironmentVariableLoader} to set them on the options builder.
+ * The file is parsed into the cached {@link EnvironmentFileLayer} which is added to the variable
+ * layers of the options builder, so the file does not change the global {@link Envio} overrides.
+ * Only the variables matching the nested keys of the options are read from the file.
+ * Then the extension uses {@link EnvironmentVariableLoader} to set the values on the options
+ * builder. The environment variables take precedence over the values of the file.
  */
 @Slf4j
 public class EnvironmentFile extends OptionsExtensionSettingValues {
@@ -33,64 +35,47 @@ public class EnvironmentFile extends OptionsExtensionSettingValues {
 
   @Override
   public void extend(OptionsBuilder<?, ?> options) {
-    String envFilePath = resolveEnvFilePath(options.args());
-    Path path = Path.of(envFilePath);
+    Path path = resolvePath(options.args());
+    String envFilePath = path.toString();
 
-    if (!Files.exists(path)) {
+    try {
+      options.addVariableLayer(EnvironmentFileLayer.load(path, options.optionsInterface(),
+          options.optionsByNestedKey().keySet()).variables());
+    } catch (NoSuchFileException e) {
       log.debug("Environment file '{}' not found, skipping", envFilePath);
       return;
+    } catch (IOException e) {
+      log.warn("Failed to read environment file '{}': {}", path, e.getMessage());
+      return;
     }
 
-    loadEnvFile(path);
-
     EnvironmentVariableLoader.loadAndSetValues(options,
         (value, env, pathArr) -> setValueWithSource(options, value, env, envFilePath, pathArr));
   }
 
-  private String resolveEnvFilePath(String[] args) {
+  /**
+   * Resolves the path of the .env file from the program arguments, the environment variable or
+   * the default file name in this order.
+   *
+   * @param args the program arguments
+   * @return the path of the .env file
+   */
+  public static Path resolvePath(String... args) {
     // First check program arguments
     for (String arg : args) {
       if (arg.startsWith(ENV_FILE_ARG_PREFIX)) {
-        return arg.substring(ENV_FILE_ARG_PREFIX.length());
+        return Path.of(arg.substring(ENV_FILE_ARG_PREFIX.length()));
       }
     }
 
     // Then check environment variable
     String envFileFromEnv = Envio.getVar(ENV_FILE_VAR);
     if (envFileFromEnv != null && !envFileFromEnv.isEmpty()) {
-      return envFileFromEnv;
+      return Path.of(envFileFromEnv);
     }
 
     // Default
-    return DEFAULT_ENV_FILE;
-  }
-
-  private void loadEnvFile(Path path) {
-    try (Stream<String> lines = Files.lines(path)) {
-      lines
-          .filter(line -> !line.isBlank())
-          .filter(line -> !line.startsWith("#"))
-          .forEach(this::parseAndSetEnvVar);
-    } catch (IOException e) {
-      log.warn("Failed to read environment file '{}': {}", path, e.getMessage());
-    }
-  }
-
-  private void parseAndSetEnvVar(String line) {
-    int equalsIndex = line.indexOf('=');
-    if (equalsIndex <= 0) {
-      log.warn("Invalid line in environment file, expected format 'NAME=value': {}", line);
-      return;
-    }
-
-    String name = line.substring(0, equalsIndex).trim();
-    String value = line.substring(equalsIndex + 1);
-
-    // Only set if not already defined (env vars and args take precedence)
-    if (Envio.getVar(name) == null) {
-      log.debug("Setting environment variable '{}' from file", name);
-      Envio.setVar(name, value);
-    }
+    return Path.of(DEFAULT_ENV_FILE);
   }
 
   private void setValueWithSource(OptionsBuilder<?, ?> options, Object value, String envName,
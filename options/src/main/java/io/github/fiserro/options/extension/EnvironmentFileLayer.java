@@ -0,0 +1,97 @@
+package io.github.fiserro.options.extension;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The variables parsed from the .env file. The layer is immutable and it is cached by the path of
+ * the file and the options interface it is loaded for. The cached layer is reused while the
+ * modification time and the size of the file are the same, so repeated loads of the unchanged file
+ * read only its attributes. At most {@value #MAX_CACHED_LAYERS} layers are cached, the least
+ * recently used one is dropped first. The file is read from its bytes by
+ * {@link MappedEnvironmentFile}.
+ *
+ * @param path         the absolute path of the file
+ * @param lastModified the modification time of the file when it was parsed
+ * @param size         the size of the file when it was parsed
+ * @param variables    the unmodifiable variables of the file
+ */
+public record EnvironmentFileLayer(Path path, FileTime lastModified, long size,
+                                   Map<String, String> variables) {
+
+  static final int MAX_CACHED_LAYERS = 64;
+
+  private static final Cache<LayerKey, EnvironmentFileLayer> LAYERS = CacheBuilder.newBuilder()
+      .maximumSize(MAX_CACHED_LAYERS)
+      .build();
+
+  /**
+   * Returns the layer of all the variables of the file. The file is parsed only if it is not
+   * cached yet or if it has changed since it was parsed.
+   *
+   * @param file the path of the file
+   * @return the layer of the file
+   * @throws IOException if the file cannot be read
+   */
+  public static EnvironmentFileLayer load(Path file) throws IOException {
+    return load(file, null, null);
+  }
+
+  /**
+   * Returns the layer of the variables of the file with the given names and the variables
+   * referenced by their values. The other variables are skipped without creating their strings,
+   * see {@link MappedEnvironmentFile}. The layer is cached by the path and the options interface,
+   * so the names have to be the same for every load of the interface, e.g. the key set of
+   * {@link io.github.fiserro.options.OptionsBuilder#optionsByNestedKey()}.
+   *
+   * @param file             the path of the file
+   * @param optionsInterface the options interface the names belong to
+   * @param names            the names of the variables or null to read all of them
+   * @return the layer of the file
+   * @throws IOException if the file cannot be read
+   */
+  public static EnvironmentFileLayer load(Path file, Class<?> optionsInterface, Set<String> names)
+      throws IOException {
+    Path path = file.toAbsolutePath().normalize();
+    BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+    LayerKey key = new LayerKey(path, names == null ? null : optionsInterface);
+    EnvironmentFileLayer layer = LAYERS.getIfPresent(key);
+    if (layer != null && layer.lastModified.equals(attributes.lastModifiedTime())
+        && layer.size == attributes.size()) {
+      return layer;
+    }
+    layer = new EnvironmentFileLayer(path, attributes.lastModifiedTime(), attributes.size(),
+        Collections.unmodifiableMap(MappedEnvironmentFile.read(path, names)));
+    LAYERS.put(key, layer);
+    return layer;
+  }
+
+  /**
+   * Removes the cached layers of the file, so the file is parsed again on the next load even if
+   * its modification time and size are the same.
+   *
+   * @param file the path of the file
+   */
+  public static void evict(Path file) {
+    Path path = file.toAbsolutePath().normalize();
+    LAYERS.asMap().keySet().removeIf(key -> key.path.equals(path));
+  }
+
+  /**
+   * The key of the cached layer.
+   *
+   * @param path             the absolute path of the file
+   * @param optionsInterface the options interface or null for the layer of all the variables
+   */
+  private record LayerKey(Path path, Class<?> optionsInterface) {
+
+  }
+}
@@ -0,0 +1,81 @@
+package io.github.fiserro.options.extension;
+
+import io.github.fiserro.options.OptionDef;
+import io.github.fiserro.options.OptionsBuilder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Helper class for loading option values from environment variables.
+ * This class is used by both {@link EnvironmentVariables} and {@link EnvironmentFile}.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class EnvironmentVariableLoader {
+
+  /**
+   * Loads environment variables and sets them as option values using the provided value setter.
+   * The variables are read from one {@link Envio#snapshot() snapshot} of the environment and from
+   * the {@link OptionsBuilder#variableLayers() variable layers} of the builder. They are matched
+   * against the {@link OptionsBuilder#optionsByNestedKey() nested keys} of the options, so the
+   * number of the lookups does not grow with the combinations of the option aliases.
+   *
+   * @param options     the options builder to get keys from
+   * @param valueSetter callback that receives (value, envName, path) for each matched env var
+   */
+  public static void loadAndSetValues(OptionsBuilder<?, ?> options, ValueSetter valueSetter) {
+    List<Map<String, String>> sources = new ArrayList<>();
+    sources.add(Envio.snapshot());
+    sources.addAll(options.variableLayers());
+    Map<String, OptionDef> keys = options.optionsByNestedKey();
+    // the value of the option set from the first source is not overwritten by the later ones
+    for (Map<String, String> source : sources) {
+      if (source.size() <= keys.size()) {
+        source.forEach((name, value) -> {
+          if (keys.containsKey(name)) {
+            setValue(sources, name, value, valueSetter);
+          }
+        });
+      } else {
+        keys.keySet().forEach(name -> {
+          String value = source.get(name);
+          if (value != null) {
+            setValue(sources, name, value, valueSetter);
+          }
+        });
+      }
+    }
+  }
+
+  private static void setValue(List<Map<String, String>> sources, String name, String value,
+      ValueSetter valueSetter) {
+    if (value.startsWith("$")) {
+      if (value.matches("^\\$\\{.*}$")) {
+        value = getVar(sources, value.substring(2, value.length() - 1));
+      } else {
+        value = getVar(sources, value.substring(1));
+      }
+    }
+    valueSetter.setValue(value, name, name.split("__"));
+  }
+
+  private static String getVar(List<Map<String, String>> sources, String name) {
+    for (Map<String, String> source : sources) {
+      String value = source.get(name);
+      if (value != null) {
+        return value;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Functional interface for setting values.
+   */
+  @FunctionalInterface
+  public interface ValueSetter {
+    void setValue(String value, String envName, String[] path);
+  }
+}
\ No newline at end of file
@@ -0,0 +1,215 @@
+package io.github.fiserro.options.extension;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Reads the variables of the .env file by one scan of the bytes of the file. The
+ * file has one variable per line in the form {@code NAME=value}, the lines starting with {@code #}
+ * and the blank lines are ignored, so simple properties files can be read as well. The name is
+ * trimmed, the value is not.
+ * <p>Only the variables with the given names are materialized as strings. The names of the other
+ * variables are compared as bytes, so the unknown variables of large files are skipped without
+ * allocating.
+ * <p>The small files, as the usual .env files are, are read into the heap. Only the large files are
+ * memory-mapped, their mapping is released by the garbage collector.
+ */
+@Slf4j
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class MappedEnvironmentFile {
+
+  /**
+   * The size of the largest file read into the heap, the larger files are memory-mapped.
+   */
+  private static final long MAX_READ_SIZE = 1 << 20;
+
+  /**
+   * Reads the variables with the given names and the variables referenced by their values, e.g.
+   * {@code BASE} referenced by {@code NAME=${BASE}}. All the variables are read if the names are
+   * null. The first definition of the variable wins.
+   *
+   * @param path  the path of the file
+   * @param names the names of the variables to read or null to read all of them
+   * @return the variables of the file
+   * @throws IOException if the file cannot be read
+   */
+  static Map<String, String> read(Path path, Collection<String> names) throws IOException {
+    return read(bytes(path), names);
+  }
+
+  private static ByteBuffer bytes(Path path) throws IOException {
+    if (Files.size(path) <= MAX_READ_SIZE) {
+      return ByteBuffer.wrap(Files.readAllBytes(path));
+    }
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      long size = channel.size();
+      if (size > Integer.MAX_VALUE) {
+        throw new IOException("The file is too large to be mapped: " + size + " bytes");
+      }
+      return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+    }
+  }
+
+  private static Map<String, String> read(ByteBuffer bytes, Collection<String> names) {
+    if (names == null) {
+      return scan(bytes, null);
+    }
+    Map<String, String> variables = scan(bytes, new KeyTable(names));
+    Set<String> references = new HashSet<>();
+    variables.values().forEach(value -> {
+      String reference = reference(value);
+      if (reference != null && !variables.containsKey(reference)) {
+        references.add(reference);
+      }
+    });
+    if (!references.isEmpty()) {
+      scan(bytes, new KeyTable(references)).forEach(variables::putIfAbsent);
+    }
+    return variables;
+  }
+
+  private static Map<String, String> scan(ByteBuffer bytes, KeyTable keys) {
+    Map<String, String> variables = new HashMap<>();
+    int limit = bytes.limit();
+    int start = 0;
+    while (start < limit) {
+      int end = start;
+      int equals = -1;
+      for (byte b; end < limit && (b = bytes.get(end)) != '\n' && b != '\r'; end++) {
+        if (b == '=' && equals < 0) {
+          equals = end;
+        }
+      }
+      if (bytes.get(start) != '#' && !isBlank(bytes, start, end)) {
+        if (equals <= start) {
+          log.warn("Invalid line in environment file, expected format 'NAME=value': {}",
+              string(bytes, start, end));
+        } else {
+          int nameStart = trimStart(bytes, start, equals);
+          int nameEnd = trimEnd(bytes, nameStart, equals);
+          String name = keys == null
+              ? string(bytes, nameStart, nameEnd)
+              : keys.find(bytes, nameStart, nameEnd);
+          if (name != null) {
+            // the first definition of the variable wins
+            int valueStart = equals + 1;
+            int valueEnd = end;
+            variables.computeIfAbsent(name, n -> string(bytes, valueStart, valueEnd));
+          }
+        }
+      }
+      start = end + 1;
+    }
+    return variables;
+  }
+
+  /**
+   * Returns the name of the variable referenced by the value or null.
+   */
+  private static String reference(String value) {
+    if (!value.startsWith("$")) {
+      return null;
+    }
+    if (value.startsWith("${") && value.endsWith("}")) {
+      return value.substring(2, value.length() - 1);
+    }
+    return value.substring(1);
+  }
+
+  private static boolean isBlank(ByteBuffer bytes, int start, int end) {
+    return trimStart(bytes, start, end) == end;
+  }
+
+  private static int trimStart(ByteBuffer bytes, int start, int end) {
+    while (start < end && (bytes.get(start) & 0xff) <= ' ') {
+      start++;
+    }
+    return start;
+  }
+
+  private static int trimEnd(ByteBuffer bytes, int start, int end) {
+    while (end > start && (bytes.get(end - 1) & 0xff) <= ' ') {
+      end--;
+    }
+    return end;
+  }
+
+  private static String string(ByteBuffer bytes, int start, int end) {
+    byte[] string = new byte[end - start];
+    bytes.get(start, string);
+    return new String(string, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Open addressing table of the UTF-8 encoded names, which finds the name of the bytes without
+   * creating the string.
+   */
+  private static final class KeyTable {
+
+    private final byte[][] keys;
+    private final String[] names;
+    private final int mask;
+
+    private KeyTable(Collection<String> names) {
+      int capacity = Integer.highestOneBit(Math.max(2, names.size()) * 2 - 1) << 1;
+      this.keys = new byte[capacity][];
+      this.names = new String[capacity];
+      this.mask = capacity - 1;
+      for (String name : names) {
+        byte[] key = name.getBytes(StandardCharsets.UTF_8);
+        int slot = hash(key) & mask;
+        while (keys[slot] != null) {
+          slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        this.names[slot] = name;
+      }
+    }
+
+    private String find(ByteBuffer bytes, int start, int end) {
+      int hash = 0;
+      for (int i = start; i < end; i++) {
+        hash = 31 * hash + bytes.get(i);
+      }
+      for (int slot = hash & mask; keys[slot] != null; slot = (slot + 1) & mask) {
+        if (matches(keys[slot], bytes, start, end)) {
+          return names[slot];
+        }
+      }
+      return null;
+    }
+
+    private static boolean matches(byte[] key, ByteBuffer bytes, int start, int end) {
+      if (key.length != end - start) {
+        return false;
+      }
+      for (int i = 0; i < key.length; i++) {
+        if (key[i] != bytes.get(start + i)) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private static int hash(byte[] key) {
+      int hash = 0;
+      for (byte b : key) {
+        hash = 31 * hash + b;
+      }
+      return hash;
+    }
+  }
+}
@@ -45,7 +45,7 @@ public abstract class OptionsExtensionSettingValues extends AbstractOptionsExten
     if (path.length > 1) {
       Preconditions.checkState(optionDef.isOptionsType(),
           "Nested values are allowed only for options of type Options");
-      Object builderValue = optionsBuilder.getValueOrPrimitiveDefault(key);
+      Object builderValue = optionsBuilder.getValueOrPrimitiveDefault(optionDef);
       if (builderValue instanceof OptionsBuilder<?, ?> nestedBuilder) {
         setValue(nestedBuilder, value, sourceName, Arrays.copyOfRange(path, 1, path.length));
       } else {
@@ -55,13 +55,18 @@ public abstract class OptionsExtensionSettingValues extends AbstractOptionsExten
                 + " is not properly initialized");
       }
     } else {
-      Object previousStateValue = tryGetValue(optionsBuilder, key);
-      if (optionsBuilder.values().get(optionDef) != null) {
+      if (optionsBuilder.values().containsKey(optionDef)) {
         // if the value is already set, it means that the value is not changed
         return;
       }
-      optionsBuilder.setValue(optionDef.name(), value);
-      Object currentStateValue = tryGetValue(optionsBuilder, key);
+      Object previousStateValue = tryGetValue(optionsBuilder, optionDef);
+      optionsBuilder.setValue(optionDef, value);
+      if (optionsBuilder.isUnparsed(optionDef)) {
+        // the lazy parsed value is not compared to keep it unparsed until it is read
+        log.info("'{}' option is set to '{}' from {} '{}'", optionDef.name(), value, sourceType, sourceName);
+        return;
+      }
+      Object currentStateValue = tryGetValue(optionsBuilder, optionDef);
       if (!Objects.equals(previousStateValue, currentStateValue)) {
         log.info("'{}' option is set to '{}' from {} '{}'", optionDef.name(), value, sourceType, sourceName);
       }
@@ -75,13 +80,13 @@ public abstract class OptionsExtensionSettingValues extends AbstractOptionsExten
    * depending on other missing option. It swallows the exception and returns null in this case to
    * prevent failing the whole extension settings.
    *
-   * @param options the options
-   * @param key     key to the option
+   * @param options   the options
+   * @param optionDef the option definition
    * @return the value of the option or null
    */
-  private Object tryGetValue(OptionsBuilder<?, ?> options, String key) {
+  private Object tryGetValue(OptionsBuilder<?, ?> options, OptionDef optionDef) {
     try {
-      return options.getValueOrPrimitiveDefault(key);
+      return options.getValueOrPrimitiveDefault(optionDef);
     } catch (Exception ignored) {
       return null;
     }
@@ -43,6 +43,9 @@ import org.hibernate.validator.internal.constraintvalidators.bv.NotBlankValidato
 import org.hibernate.validator.internal.constraintvalidators.bv.NotNullValidator;
 import org.hibernate.validator.internal.constraintvalidators.bv.PatternValidator;
 import org.hibernate.validator.internal.constraintvalidators.bv.notempty.NotEmptyValidatorForArray;
+import org.hibernate.validator.internal.constraintvalidators.bv.notempty.NotEmptyValidatorForArraysOfDouble;
+import org.hibernate.validator.internal.constraintvalidators.bv.notempty.NotEmptyValidatorForArraysOfInt;
+import org.hibernate.validator.internal.constraintvalidators.bv.notempty.NotEmptyValidatorForArraysOfLong;
 import org.hibernate.validator.internal.constraintvalidators.bv.notempty.NotEmptyValidatorForCharSequence;
 import org.hibernate.validator.internal.constraintvalidators.bv.notempty.NotEmptyValidatorForCollection;
 import org.hibernate.validator.internal.constraintvalidators.bv.notempty.NotEmptyValidatorForMap;
@@ -402,6 +405,9 @@ public class HibernateValidatorResolver implements JakartaValidatorResolver{
         case Collection<?> coll -> new NotEmptyValidatorForCollection();
         case Map<?, ?> map -> new NotEmptyValidatorForMap();
         case Object[] array -> new NotEmptyValidatorForArray();
+        case int[] array -> new NotEmptyValidatorForArraysOfInt();
+        case long[] array -> new NotEmptyValidatorForArraysOfLong();
+        case double[] array -> new NotEmptyValidatorForArraysOfDouble();
         default -> (v, c) -> true;
       };
 
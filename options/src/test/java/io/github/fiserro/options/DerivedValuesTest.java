@@ -0,0 +1,99 @@
+package io.github.fiserro.options;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.github.fiserro.options.test.DerivedOptions;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class DerivedValuesTest {
+
+  @BeforeEach
+  void setUp() {
+    DerivedOptions.URL_CALLS.set(0);
+    DerivedOptions.MISSING_CALLS.set(0);
+    DerivedOptions.UNCACHED_CALLS.set(0);
+    DerivedOptions.SECURE_CALLS.set(0);
+  }
+
+  @Test
+  void cachedDerivedValueIsComputedOnce() {
+    DerivedOptions options = OptionsFactory.create(DerivedOptions.class, Map.of("host", "localhost"));
+
+    assertThat(options.url(), is("http://localhost:80"));
+    assertThat(options.url(), is("http://localhost:80"));
+    assertThat(options.hostLength(), is(9));
+    assertThat(options.hostLength(), is(9));
+    assertThat(DerivedOptions.URL_CALLS.get(), is(1));
+  }
+
+  @Test
+  void derivedValueIsCachedPerInstance() {
+    DerivedOptions options = OptionsFactory.create(DerivedOptions.class, Map.of("host", "localhost"));
+    assertThat(options.url(), is("http://localhost:80"));
+
+    DerivedOptions modified = options.withPort(8080);
+    assertThat(modified.url(), is("http://localhost:8080"));
+    assertThat(options.url(), is("http://localhost:80"));
+    assertThat(DerivedOptions.URL_CALLS.get(), is(2));
+  }
+
+  @Test
+  void nullAndInheritedDerivedValuesAreCached() {
+    DerivedOptions options = OptionsFactory.create(DerivedOptions.class, Map.of("host", "secure"));
+
+    assertThat(options.missing(), nullValue());
+    assertThat(options.missing(), nullValue());
+    assertThat(options.secure(), is(true));
+    assertThat(options.secure(), is(true));
+    assertThat(DerivedOptions.MISSING_CALLS.get(), is(1));
+    assertThat(DerivedOptions.SECURE_CALLS.get(), is(1));
+  }
+
+  @Test
+  void notCachedDerivedValueIsComputedOnEveryCall() {
+    DerivedOptions options = OptionsFactory.create(DerivedOptions.class, Map.of("host", "localhost"));
+
+    options.uncached();
+    options.uncached();
+    assertThat(DerivedOptions.UNCACHED_CALLS.get(), is(2));
+  }
+
+  @Test
+  void exceptionIsNotCached() {
+    DerivedOptions options = OptionsFactory.create(DerivedOptions.class);
+
+    assertThrows(NullPointerException.class, options::hostLength);
+    assertThrows(NullPointerException.class, options::hostLength);
+  }
+
+  @Test
+  void concurrentCallsComputeTheValueOnce() throws Exception {
+    DerivedOptions options = OptionsFactory.create(DerivedOptions.class, Map.of("host", "localhost"));
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<String>> results = new ArrayList<>();
+    try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+      for (int i = 0; i < 8; i++) {
+        results.add(executor.submit(() -> {
+          start.await();
+          return options.url();
+        }));
+      }
+      start.countDown();
+      for (Future<String> result : results) {
+        assertThat(result.get(), is("http://localhost:80"));
+      }
+    }
+    assertThat(DerivedOptions.URL_CALLS.get(), is(1));
+  }
+}
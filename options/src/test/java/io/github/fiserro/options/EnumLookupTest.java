@@ -0,0 +1,54 @@
+package io.github.fiserro.options;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.lang.reflect.Type;
+import java.util.EnumSet;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class EnumLookupTest {
+
+  @Test
+  void constantIsFoundIgnoringCase() {
+    assertThat(EnumLookup.of(Color.class).get("green"), is(Color.GREEN));
+    assertThat(EnumLookup.of(Color.class).get("GrEeN"), is(Color.GREEN));
+    assertThat(EnumLookup.of(Color.class), is(EnumLookup.of(Color.class)));
+  }
+
+  @Test
+  void unknownValueIsRejected() {
+    OptionsException exception = assertThrows(OptionsException.class,
+        () -> EnumLookup.of(Color.class).get("blue"));
+    assertThat(exception.getMessage(), is("blue does not match any of the enum values of Color"));
+  }
+
+  @Test
+  void ambiguousValueIsRejected() {
+    assertThat(EnumLookup.of(Ambiguous.class).get("other"), is(Ambiguous.OTHER));
+    OptionsException exception = assertThrows(OptionsException.class,
+        () -> EnumLookup.of(Ambiguous.class).get("VALUE"));
+    assertThat(exception.getMessage(), is("VALUE matches multiple enum values of Ambiguous"));
+  }
+
+  @Test
+  void setOfEnumIsParsedToEnumSet() {
+    Object value = new ValueParserDefault().converter(Set.class, new Type[]{Color.class})
+        .apply("green,RED,green");
+
+    assertThat(value, instanceOf(EnumSet.class));
+    assertThat((Set<?>) value, contains(Color.RED, Color.GREEN));
+  }
+
+  enum Color {
+    RED, GREEN
+  }
+
+  enum Ambiguous {
+    value, VALUE, OTHER
+  }
+}
@@ -0,0 +1,51 @@
+package io.github.fiserro.options;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.core.Is.is;
+
+import io.github.fiserro.options.test.FieldBackedOptions;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class FieldBackedTest {
+
+  @Test
+  void gettersReadTypedFinalFields() throws NoSuchFieldException {
+    FieldBackedOptions options = OptionsFactory.create(FieldBackedOptions.class,
+        "--primitiveInt=5", "--string=text", "--listOfInt=1,2");
+
+    Field field = options.getClass().getDeclaredField("primitiveInt");
+    assertThat(field.getType(), is(int.class));
+    assertThat(Modifier.isFinal(field.getModifiers()), is(true));
+
+    assertThat(options.primitiveInt(), is(5));
+    assertThat(options.string(), is("text"));
+    assertThat(options.listOfInt(), is(List.of(1, 2)));
+    assertThat(options.integer(), nullValue());
+    assertThat(options.primitiveIntWithDefault(), is(10));
+  }
+
+  @Test
+  void valuesAreAvailableInBuilder() {
+    FieldBackedOptions options = OptionsFactory.create(FieldBackedOptions.class,
+        Map.of("primitiveLong", 7L, "string", "text"));
+
+    assertThat(options.toBuilder().getValue("primitiveLong"), is(7L));
+    assertThat(options.getValue("string"), is("text"));
+    assertThat(OptionsFactory.clone(options), is(options));
+  }
+
+  @Test
+  void withersCreateNewFieldBackedInstance() {
+    FieldBackedOptions options = OptionsFactory.create(FieldBackedOptions.class);
+    FieldBackedOptions modified = options.withPrimitiveInt(3).withValue("string", "text");
+
+    assertThat(options.primitiveInt(), is(0));
+    assertThat(modified.primitiveInt(), is(3));
+    assertThat(modified.string(), is("text"));
+  }
+}
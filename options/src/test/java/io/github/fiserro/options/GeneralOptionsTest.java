@@ -14,9 +14,13 @@ import io.github.fiserro.options.test.IntegersOptions;
 import io.github.fiserro.options.test.*;
 import io.github.fiserro.options.test.DuplicatesOptions;
 import io.github.fiserro.options.test.OverridingDefaultsOptions;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
+import java.time.ZoneId;
 import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
 import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
@@ -46,7 +50,8 @@ class GeneralOptionsTest {
       DependentDefaultsOptions.class,
       DuplicatesOptions.class,
       OverridingDefaultsOptions.class,
-      AllOptions.class
+      AllOptions.class,
+      FieldBackedOptions.class
   );
 
 
@@ -63,7 +68,13 @@ class GeneralOptionsTest {
           Pair.of("2024-02-18T23:11:55Z", new Date(1708297915000L)),
           Pair.of("2024-02-18T23:11:56Z", new Date(1708297916000L)),
           OffsetDateTime.of(2024, 2, 18, 23, 11, 55, 0, ZoneOffset.UTC),
-          OffsetDateTime.of(2024, 2, 18, 23, 11, 56, 0, ZoneOffset.UTC)
+          OffsetDateTime.of(2024, 2, 18, 23, 11, 56, 0, ZoneOffset.UTC),
+          Instant.parse("2024-02-18T23:11:55Z"),
+          Instant.parse("2024-02-18T23:11:56.5Z"),
+          ZonedDateTime.of(2024, 2, 18, 23, 11, 55, 0, ZoneOffset.ofHours(1)),
+          ZonedDateTime.of(2024, 2, 18, 23, 11, 56, 0, ZoneId.of("Europe/Prague")),
+          Duration.ofSeconds(90),
+          Duration.ofMillis(1500)
       )
       .map(Object.class::cast)
       .toList();
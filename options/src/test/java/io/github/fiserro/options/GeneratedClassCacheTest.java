@@ -0,0 +1,72 @@
+package io.github.fiserro.options;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNot.not;
+
+import io.github.fiserro.options.test.AllOptions;
+import io.github.fiserro.options.test.DefaultWithWither;
+import java.lang.management.ClassLoadingMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class GeneratedClassCacheTest {
+
+  @Test
+  void sameShapeReusesGeneratedClass() {
+    AllOptions options1 = OptionsFactory.create(AllOptions.class, "--primitiveInt=1");
+    AllOptions options2 = OptionsFactory.create(AllOptions.class, "--primitiveInt=2");
+    assertThat(options1.getClass(), is(options2.getClass()));
+    assertThat(OptionsFactory.clone(options1).getClass(), is(options1.getClass()));
+  }
+
+  @Test
+  void differentShapeGeneratesDifferentClass() {
+    DefaultWithWither defaults = OptionsFactory.create(DefaultWithWither.class);
+    DefaultWithWither modified = defaults.withValue(30);
+    assertThat(defaults.getClass(), not(modified.getClass()));
+    assertThat(modified.withValue(40).getClass(), is(modified.getClass()));
+  }
+
+  @Test
+  void rebuildDoesNotLoadNewClasses() {
+    ClassLoadingMXBean classLoading = ManagementFactory.getClassLoadingMXBean();
+    AllOptions options = OptionsFactory.create(AllOptions.class,
+        Map.of("primitiveInt", 0, "string", "test"));
+    DefaultWithWither defaults = OptionsFactory.create(DefaultWithWither.class);
+    // warm up - the first builds may load the library classes and generate both shapes
+    for (int i = 0; i < 100; i++) {
+      options = options.toBuilder().withValue("primitiveInt", i).build();
+      defaults = rebuildWithOtherShape(defaults, i);
+    }
+
+    long loadedBefore = classLoading.getTotalLoadedClassCount();
+    for (int i = 0; i < 2_000; i++) {
+      // the rebuild looks up the implementation class of the shape in the cache
+      options = options.toBuilder().withValue("primitiveInt", i).build();
+      defaults = rebuildWithOtherShape(defaults, i);
+    }
+    long loadedAfter = classLoading.getTotalLoadedClassCount();
+
+    assertThat(options.primitiveInt(), is(1_999));
+    assertThat(defaults.value(), is(50));
+    // a small tolerance for the classes loaded by the JVM itself (JIT, lambda forms)
+    assertThat(loadedAfter - loadedBefore, lessThanOrEqualTo(50L));
+  }
+
+  /**
+   * Rebuilds the options with the value set on the even iterations and with the default value on
+   * the odd ones, so the getter of the value is intercepted on every other rebuild.
+   */
+  private static DefaultWithWither rebuildWithOtherShape(DefaultWithWither options, int i) {
+    OptionsBuilder<DefaultWithWither, ?> builder = options.toBuilder();
+    if (i % 2 == 0) {
+      builder.setValue("value", i);
+    } else {
+      builder.resetValue("value");
+    }
+    return builder.build();
+  }
+}
@@ -0,0 +1,115 @@
+package io.github.fiserro.options;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.hamcrest.core.Is.is;
+
+import io.github.fiserro.options.extension.ArgumentsEquals;
+import io.github.fiserro.options.extension.OptionsExtensions;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class InternedTest {
+
+  private static final String[] ARGS = {"--url=jdbc:postgresql://db/app", "--hosts=a,b,c",
+      "--tags=x,y", "--database.user=app", "--database.port=5432"};
+
+  @BeforeEach
+  void resetStats() {
+    ValueInterner.resetStats();
+  }
+
+  @Test
+  void equalValuesAreShared() {
+    InternedOptions first = OptionsFactory.create(InternedOptions.class, ARGS);
+    InternedOptions second = OptionsFactory.create(InternedOptions.class, ARGS);
+
+    assertThat(second.url(), is(sameInstance(first.url())));
+    assertThat(second.hosts(), is(sameInstance(first.hosts())));
+    assertThat(second.database(), is(sameInstance(first.database())));
+    assertThat(second.hosts(), contains("a", "b", "c"));
+  }
+
+  @Test
+  void changedValuesAreShared() {
+    InternedOptions options = OptionsFactory.create(InternedOptions.class, ARGS);
+
+    InternedOptions first = options.withValue("url", new String("jdbc:postgresql://db/other"));
+    InternedOptions second = options.withValue("url", new String("jdbc:postgresql://db/other"));
+    InternedOptions overlay = OptionsFactory.overlay(options,
+        Map.of("url", new String("jdbc:postgresql://db/other")));
+
+    assertThat(second.url(), is(sameInstance(first.url())));
+    assertThat(overlay.url(), is(sameInstance(first.url())));
+  }
+
+  @Test
+  void mutableValuesAreNotShared() {
+    InternedOptions first = OptionsFactory.create(InternedOptions.class, ARGS);
+    InternedOptions second = OptionsFactory.create(InternedOptions.class, ARGS);
+
+    assertThat(second.tags(), is(first.tags()));
+    assertThat(second.tags(), is(not(sameInstance(first.tags()))));
+  }
+
+  @Test
+  void valuesOfNotInternedOptionsAreNotShared() {
+    PlainOptions first = OptionsFactory.create(PlainOptions.class, "--url=jdbc:postgresql://db/app");
+    PlainOptions second = OptionsFactory.create(PlainOptions.class, "--url=jdbc:postgresql://db/app");
+
+    assertThat(second.url(), is(not(sameInstance(first.url()))));
+    assertThat(ValueInterner.stats().lookups(), is(0L));
+  }
+
+  @Test
+  void statsReportHitRate() {
+    OptionsFactory.create(InternedOptions.class, ARGS);
+    ValueInterner.resetStats();
+
+    OptionsFactory.create(InternedOptions.class, ARGS);
+    ValueInterner.Stats stats = ValueInterner.stats();
+
+    assertThat(stats.lookups() > 0, is(true));
+    assertThat(stats.hits(), is(stats.lookups()));
+    assertThat(stats.hitRate(), is(1.0));
+  }
+
+  @Interned
+  @OptionsExtensions({ArgumentsEquals.class})
+  public interface InternedOptions extends Options<InternedOptions> {
+
+    @Option
+    String url();
+
+    @Option
+    List<String> hosts();
+
+    @Option
+    Set<String> tags();
+
+    @Option
+    DatabaseOptions database();
+  }
+
+  @Interned
+  public interface DatabaseOptions extends Options<DatabaseOptions> {
+
+    @Option
+    String user();
+
+    @Option
+    int port();
+  }
+
+  @OptionsExtensions({ArgumentsEquals.class})
+  public interface PlainOptions extends Options<PlainOptions> {
+
+    @Option
+    String url();
+  }
+}
@@ -0,0 +1,86 @@
+package io.github.fiserro.options;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.github.sisyphsu.dateparser.DateParserUtils;
+import java.lang.reflect.Type;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Date;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class IsoDateTimeTest {
+
+  private final ValueParserDefault parser = new ValueParserDefault();
+
+  @ParameterizedTest
+  @ValueSource(strings = {"2024-02-18", "2024-02-18T23:11", "2024-02-18T23:11:55",
+      "2024-02-18T23:11:55.5", "2024-02-18T23:11:55.123456789"})
+  void localValuesAreParsedLikeTheFuzzyParser(String value) {
+    assertThat(IsoDateTime.parse(value).toLocalDateTime(), is(DateParserUtils.parseDateTime(value)));
+    assertThat(parse(LocalDateTime.class, value), is(DateParserUtils.parseDateTime(value)));
+    assertThat(parse(LocalDate.class, value), is(DateParserUtils.parseDateTime(value).toLocalDate()));
+    assertThat(parse(Date.class, value), is(DateParserUtils.parseDate(value)));
+    assertThat(parse(OffsetDateTime.class, value), is(DateParserUtils.parseOffsetDateTime(value)));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"2024-02-18T23:11:55Z", "2024-02-18T23:11:55.250+02:00",
+      "2024-02-18T23:11-05:30"})
+  void valuesWithOffsetAreParsedLikeTheFuzzyParser(String value) {
+    assertThat(IsoDateTime.parse(value).toLocalDateTime(), is(nullValue()));
+    assertThat(parse(LocalDateTime.class, value), is(DateParserUtils.parseDateTime(value)));
+    assertThat(parse(Date.class, value), is(DateParserUtils.parseDate(value)));
+    assertThat(parse(OffsetDateTime.class, value), is(OffsetDateTime.parse(value)));
+    assertThat(parse(ZonedDateTime.class, value), is(ZonedDateTime.parse(value)));
+    assertThat(parse(Instant.class, value), is(OffsetDateTime.parse(value).toInstant()));
+  }
+
+  @Test
+  void zonedValueIsParsed() {
+    String value = "2024-07-01T10:15:30+02:00[Europe/Prague]";
+
+    assertThat(parse(ZonedDateTime.class, value), is(ZonedDateTime.parse(value)));
+    assertThat(parse(Instant.class, value), is(ZonedDateTime.parse(value).toInstant()));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"2024-02-18 23:11:55", "18.02.2024", "2024-2-18", "2024-02-18T23",
+      "2024-02-18T23:11:55.", "2024-13-18", "2024-02-18T23:11:55+2", "Feb 18, 2024"})
+  void otherFormatsAreLeftToTheFuzzyParser(String value) {
+    assertThat(IsoDateTime.parse(value), is(nullValue()));
+  }
+
+  @Test
+  void fuzzyParserIsTheFallback() {
+    assertThat(parse(LocalDate.class, "2024-02-18 23:11:55"), is(LocalDate.of(2024, 2, 18)));
+    assertThat(parse(LocalDate.class, "Feb 18, 2024"), is(LocalDate.of(2024, 2, 18)));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"PT30S", "PT1H30M", "P2DT12H", "PT0.5S", "-PT1.25S", "P1D",
+      "PT1M0.000000001S", "PT-5S", "pt5s", "P1DT1H1M1S"})
+  void durationsAreParsedLikeDurationParse(String value) {
+    assertThat(parse(Duration.class, value), is(Duration.parse(value)));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"P", "PT", "P1H", "PT1D", "PT1S1M", "P1DT", "30s"})
+  void invalidDurationsAreRejected(String value) {
+    assertThrows(DateTimeParseException.class, () -> parse(Duration.class, value));
+  }
+
+  private Object parse(Class<?> type, String value) {
+    return parser.converter(type, new Type[0]).apply(value);
+  }
+}
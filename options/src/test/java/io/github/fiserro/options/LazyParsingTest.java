@@ -0,0 +1,120 @@
+package io.github.fiserro.options;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.github.fiserro.options.extension.ArgumentsEquals;
+import io.github.fiserro.options.extension.OptionsExtensions;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class LazyParsingTest {
+
+  @BeforeEach
+  void resetParses() {
+    CountingParser.PARSES.set(0);
+  }
+
+  @Test
+  void valuesAreParsedOnFirstAccess() {
+    LazyOptions options = OptionsFactory.create(LazyOptions.class,
+        "--first=1", "--second=2", "--list=1,2,3");
+
+    assertThat(CountingParser.PARSES.get(), is(0));
+    assertThat(options.first(), is(1));
+    assertThat(options.first(), is(1));
+    assertThat(CountingParser.PARSES.get(), is(1));
+    assertThat(options.list(), contains(1, 2, 3));
+    assertThat(options.toBuilder().isUnparsed(
+        options.toBuilder().optionsByName().get("second")), is(true));
+  }
+
+  @Test
+  void overwrittenValuesAreNotParsed() {
+    OptionsBuilder<LazyOptions, ?> builder = OptionsFactory.create(LazyOptions.class).toBuilder();
+    builder.setValue("first", "1");
+    builder.setValue("first", "2");
+
+    assertThat(builder.build().first(), is(2));
+    assertThat(CountingParser.PARSES.get(), is(1));
+  }
+
+  @Test
+  void invalidValueFailsOnAccessAndValidation() {
+    LazyOptions options = OptionsFactory.create(LazyOptions.class, "--list=1,x");
+
+    assertThrows(NumberFormatException.class, options::list);
+    assertThrows(NumberFormatException.class, options::validate);
+  }
+
+  @Test
+  void lazyOptionsAreEqualToParsedOptions() {
+    LazyOptions lazy = OptionsFactory.create(LazyOptions.class, "--first=1", "--list=1,2");
+    LazyOptions parsed = OptionsFactory.create(LazyOptions.class,
+        Map.of("first", 1, "list", List.of(1, 2)));
+
+    assertThat(lazy, is(parsed));
+    assertThat(lazy.hashCode(), is(parsed.hashCode()));
+  }
+
+  @Test
+  void concurrentReadersGetTheSameValue() throws Exception {
+    int threads = 16;
+    LazyOptions options = OptionsFactory.create(LazyOptions.class, "--list=1,2,3");
+    CountDownLatch start = new CountDownLatch(1);
+    List<Callable<List<Integer>>> readers = new ArrayList<>();
+    for (int i = 0; i < threads; i++) {
+      readers.add(() -> {
+        start.await();
+        return options.list();
+      });
+    }
+    try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+      List<Future<List<Integer>>> futures = new ArrayList<>();
+      readers.forEach(reader -> futures.add(executor.submit(reader)));
+      start.countDown();
+      List<Integer> first = futures.getFirst().get();
+      for (Future<List<Integer>> future : futures) {
+        assertThat(future.get(), sameInstance(first));
+      }
+    }
+  }
+
+  @LazyParsing
+  @OptionsExtensions({ArgumentsEquals.class})
+  public interface LazyOptions extends Options<LazyOptions> {
+
+    @Option(parser = CountingParser.class)
+    Integer first();
+
+    @Option(parser = CountingParser.class)
+    Integer second();
+
+    @Option
+    List<Integer> list();
+  }
+
+  public static class CountingParser implements ValueParser {
+
+    static final AtomicInteger PARSES = new AtomicInteger();
+
+    @Override
+    public Object parse(Class<?> type, Type[] genericTypes, String value) {
+      PARSES.incrementAndGet();
+      return Integer.valueOf(value);
+    }
+  }
+}
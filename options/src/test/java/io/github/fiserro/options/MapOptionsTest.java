@@ -0,0 +1,100 @@
+package io.github.fiserro.options;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.google.common.collect.ImmutableMap;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import org.junit.jupiter.api.Test;
+
+class MapOptionsTest {
+
+  @Test
+  void mapIsParsed() {
+    MapOptions options = create("timeouts", "/users=PT1S,/orders=PT0.5S");
+
+    assertThat(options.timeouts(), is(Map.of(
+        "/users", Duration.ofSeconds(1), "/orders", Duration.ofMillis(500))));
+  }
+
+  @Test
+  void mapTypeIsKept() {
+    MapOptions options = create("sorted", "b=2,a=1,c=3", "linked", "b=2,a=1,c=3",
+        "immutable", "x=1,x=2");
+
+    assertThat(options.sorted().keySet(), contains("a", "b", "c"));
+    assertThat(options.linked().keySet(), contains("b", "a", "c"));
+    assertThat(options.immutable(), instanceOf(ImmutableMap.class));
+    assertThat(options.immutable(), is(Map.of("x", 2)));
+
+    MapOptions copy = options.toBuilder().build();
+    assertThat(copy.sorted(), instanceOf(SortedMap.class));
+    assertThat(copy.linked().keySet(), contains("b", "a", "c"));
+    assertThat(copy, is(options));
+  }
+
+  @Test
+  void separatorsAreConfigurable() {
+    MapOptions options = create("limits", "10:100;20:200", "hosts", "a.com;b.com");
+
+    assertThat(options.limits(), is(Map.of(10, 100L, 20, 200L)));
+    assertThat(options.hosts(), contains("a.com", "b.com"));
+  }
+
+  @Test
+  void escapedSeparatorsAreKept() {
+    MapOptions options = create("timeouts", "a\\=b=PT1S");
+
+    assertThat(options.timeouts(), is(Map.of("a\\=b", Duration.ofSeconds(1))));
+  }
+
+  @Test
+  void emptyValueIsParsedToEmptyMap() {
+    assertThat(create("timeouts", "").timeouts(), is(Map.of()));
+    assertThat(create("immutable", " ").immutable(), is(Map.of()));
+  }
+
+  @Test
+  void entryWithoutKeyValueSeparatorIsRejected() {
+    OptionsException exception = assertThrows(OptionsException.class,
+        () -> create("timeouts", "a=PT1S,b"));
+    assertThat(exception.getMessage(),
+        is("The map entry b does not contain the key-value separator ="));
+  }
+
+  private static MapOptions create(String... keyValues) {
+    OptionsBuilder<MapOptions, ?> builder = OptionsFactory.create(MapOptions.class).toBuilder();
+    for (int i = 0; i < keyValues.length; i += 2) {
+      builder.setValue(keyValues[i], keyValues[i + 1]);
+    }
+    return builder.build();
+  }
+
+  public interface MapOptions extends Options<MapOptions> {
+
+    @Option
+    Map<String, Duration> timeouts();
+
+    @Option
+    SortedMap<String, Integer> sorted();
+
+    @Option
+    LinkedHashMap<String, Integer> linked();
+
+    @Option
+    ImmutableMap<String, Integer> immutable();
+
+    @Option(separator = ';', keyValueSeparator = ':')
+    Map<Integer, Long> limits();
+
+    @Option(separator = ';')
+    List<String> hosts();
+  }
+}
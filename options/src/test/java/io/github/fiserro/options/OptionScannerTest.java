@@ -16,7 +16,7 @@ class OptionScannerTest {
   @Test
   void scanOwnOptions() {
     Map<String, OptionDef> options = scanner.scanByKeys(AllOptions.class);
-    assertThat(options.size(), is(98));
+    assertThat(options.size(), is(110));
     assertThat(options.get("DATE").description(), is("Date option"));
 //    assertThat(options.get("DATE").required(), is(false)); // TODO
     assertThat(options.get("localDate").hasDefaultValue(), is(false));
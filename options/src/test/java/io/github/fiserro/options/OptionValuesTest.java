@@ -0,0 +1,195 @@
+package io.github.fiserro.options;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.github.fiserro.options.test.AllOptions;
+import io.github.fiserro.options.test.NestedCompositionOptions;
+import io.github.fiserro.options.test.StringsOptions;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.annotation.AnnotationDescription;
+import net.bytebuddy.description.modifier.Visibility;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import org.junit.jupiter.api.Test;
+
+class OptionValuesTest {
+
+  private static final Class<?> WIDE_OPTIONS = wideOptions(1000);
+
+  @Test
+  void optionsAreNumberedByName() {
+    OptionsModel model = OptionsModel.of(AllOptions.class);
+    List<String> names = IntStream.range(0, model.size())
+        .mapToObj(model::option)
+        .map(OptionDef::name)
+        .toList();
+    List<String> sortedNames = new ArrayList<>(names);
+    sortedNames.sort(Comparator.naturalOrder());
+
+    assertThat(names, is(sortedNames));
+    assertThat(model.options().stream().map(model::slot).sorted().toList(),
+        is(IntStream.range(0, model.size()).boxed().toList()));
+  }
+
+  @Test
+  void nestedOptionsAreTheSlotsOfTheNestedModel() {
+    OptionsModel model = OptionsModel.of(NestedCompositionOptions.class);
+    OptionDef source = model.optionsByName().get("source");
+    OptionsModel nested = model.child(source);
+
+    for (OptionDef child : source.children()) {
+      assertThat(nested.option(nested.slot(child)), is(sameInstance(child)));
+    }
+  }
+
+  @Test
+  void sameNestedOptionsOfOtherParentHaveOwnModel() {
+    OptionsModel model = OptionsModel.of(NestedCompositionOptions.class);
+    OptionsModel other = OptionsModel.of(OtherNestedOptions.class);
+    OptionDef source = model.optionsByName().get("source");
+    OptionDef otherSource = other.optionsByName().get("source");
+    OptionsModel nested = model.child(source);
+    OptionsModel otherNested = other.child(otherSource);
+
+    assertThat(otherNested, is(not(sameInstance(nested))));
+    assertThat(OptionsModel.of(StringsOptions.class, otherSource.children()),
+        is(sameInstance(otherNested)));
+    for (OptionDef child : otherSource.children()) {
+      assertThat(otherNested.option(otherNested.slot(child)), is(sameInstance(child)));
+    }
+  }
+
+  @Test
+  void valuesAreLiveViewOfTheSlots() {
+    OptionsBuilder<AllOptions, ?> builder = OptionsFactory.create(AllOptions.class).toBuilder();
+    Map<String, OptionDef> optionsByName = builder.optionsByName();
+    Map<OptionDef, Object> values = builder.values();
+
+    builder.setValue("primitiveInt", 5);
+    assertThat(values.get(optionsByName.get("primitiveInt")), is(5));
+
+    builder.resetValue("primitiveInt");
+    assertThat(values.get(optionsByName.get("primitiveInt")), is(nullValue()));
+    assertThat(values.containsKey(optionsByName.get("primitiveInt")), is(false));
+  }
+
+  @Test
+  void builtOptionsDoNotShareValuesWithBuilder() {
+    OptionsBuilder<AllOptions, ?> builder = OptionsFactory.create(AllOptions.class,
+        Map.of("primitiveInt", 1, "listOfInt", List.of(1, 2))).toBuilder();
+    AllOptions options = builder.build();
+
+    builder.setValue("primitiveInt", 2);
+    builder.setValue("listOfInt", List.of(3));
+
+    assertThat(options.primitiveInt(), is(1));
+    assertThat(options.listOfInt(), contains(1, 2));
+    assertThat(builder.build().primitiveInt(), is(2));
+  }
+
+  @Test
+  void copySharesValuesUntilChanged() {
+    OptionsModel model = OptionsModel.of(WIDE_OPTIONS);
+    OptionValues values = new OptionValues(model);
+    for (int slot = 0; slot < model.size(); slot++) {
+      values.set(slot, "value" + slot);
+    }
+    OptionValues copy = values.copy();
+
+    copy.set(500, "changed");
+    values.set(501, "changed");
+
+    assertThat(values.get(500), is("value500"));
+    assertThat(copy.get(500), is("changed"));
+    assertThat(values.get(501), is("changed"));
+    assertThat(copy.get(501), is("value501"));
+    assertThat(copy.get(999), is("value999"));
+    assertThat(copy.size(), is(1000));
+  }
+
+  @Test
+  void frozenValuesCannotBeChanged() {
+    OptionsModel model = OptionsModel.of(WIDE_OPTIONS);
+    OptionValues values = new OptionValues(model);
+    values.set(500, "value500");
+    values.freeze();
+
+    OptionValues copy = values.copy();
+    copy.set(500, "changed");
+
+    assertThrows(IllegalStateException.class, () -> values.set(500, "changed"));
+    assertThrows(IllegalStateException.class, values::clear);
+    assertThat(values.get(500), is("value500"));
+    assertThat(copy.get(500), is("changed"));
+  }
+
+  @Test
+  void withValueSharesUnchangedValues() {
+    Map<String, Object> values = new HashMap<>();
+    for (int i = 0; i < 1000; i++) {
+      values.put("option" + i, "value" + i);
+    }
+    Options<?> options = create(WIDE_OPTIONS, values);
+
+    Options<?> changed = (Options<?>) options.withValue("option500", "changed");
+
+    assertThat(changed.getValue("option500"), is("changed"));
+    assertThat(options.getValue("option500"), is("value500"));
+    assertThat(changed.getValue("option999"), is(sameInstance(options.getValue("option999"))));
+    assertThat(changed.getClass(), is(sameInstance(options.getClass())));
+  }
+
+  @Test
+  void equalValuesAreEqual() {
+    AllOptions options1 = OptionsFactory.create(AllOptions.class, Map.of("string", "a"));
+    AllOptions options2 = OptionsFactory.create(AllOptions.class, Map.of("string", "a"));
+
+    assertThat(options1.toBuilder().values(), is(options2.toBuilder().values()));
+    assertThat(options1.toBuilder().values().hashCode(),
+        is(Map.copyOf(options2.toBuilder().values()).hashCode()));
+    assertThat(options1, is(options2));
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T extends Options<T>> T create(Class<?> optionsClass,
+      Map<String, Object> values) {
+    return OptionsFactory.create((Class<T>) optionsClass, values);
+  }
+
+  /**
+   * Generates the options interface with the given number of string options.
+   */
+  private static Class<?> wideOptions(int size) {
+    DynamicType.Builder<?> builder = new ByteBuddy()
+        .makeInterface(Options.class)
+        .name(OptionValuesTest.class.getPackageName() + ".WideOptions" + size);
+    for (int i = 0; i < size; i++) {
+      builder = builder.defineMethod("option" + i, String.class, Visibility.PUBLIC)
+          .withoutCode()
+          .annotateMethod(AnnotationDescription.Builder.ofType(Option.class).build());
+    }
+    try (DynamicType.Unloaded<?> unloaded = builder.make()) {
+      return unloaded.load(OptionValuesTest.class.getClassLoader(),
+              ClassLoadingStrategy.Default.INJECTION)
+          .getLoaded();
+    }
+  }
+
+  interface OtherNestedOptions extends Options<OtherNestedOptions> {
+
+    @Option
+    StringsOptions source();
+  }
+}
@@ -0,0 +1,84 @@
+package io.github.fiserro.options;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.core.Is.is;
+
+import io.github.fiserro.options.test.AllOptions;
+import io.github.fiserro.options.test.NestedCompositionOptions;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class OptionsDiffTest {
+
+  @Test
+  void onlyChangedOptionsAreReported() {
+    AllOptions options = OptionsFactory.create(AllOptions.class, "--primitiveInt=1",
+        "--string=a");
+    AllOptions changed = options.withValue("primitiveInt", 2);
+
+    List<OptionChange> changes = OptionsDiff.diff(options, changed);
+
+    assertThat(changes.stream().map(OptionChange::path).toList(), contains("primitiveInt"));
+    assertThat(changes.getFirst().oldValue(), is(1));
+    assertThat(changes.getFirst().newValue(), is(2));
+    assertThat(OptionsDiff.diff(options, OptionsFactory.clone(options)), is(empty()));
+  }
+
+  @Test
+  void changesOfNestedOptionsAreReportedByPath() {
+    NestedCompositionOptions options = nested("source", "target");
+    NestedCompositionOptions changed = options.toBuilder()
+        .withValue("changed", "target", "string")
+        .build();
+
+    List<OptionChange> changes = OptionsDiff.diff(options, changed);
+
+    assertThat(changes.stream().map(OptionChange::path).toList(), contains("target.string"));
+    assertThat(changes.getFirst().isWithin("target"), is(true));
+    assertThat(changes.getFirst().isWithin("targ"), is(false));
+  }
+
+  @Test
+  void defaultValueIsNotChangedBySettingItExplicitly() {
+    NestedCompositionOptions options = nested("source", "target");
+    NestedCompositionOptions changed = options.toBuilder()
+        .withValue("default", "source", "stringWithDefault")
+        .build();
+
+    assertThat(OptionsDiff.diff(options, changed), is(empty()));
+  }
+
+  @Test
+  void listenersAreNotifiedOnlyAboutTheirOptions() throws Exception {
+    NestedCompositionOptions options = nested("source", "target");
+    NestedCompositionOptions changed = options.toBuilder()
+        .withValue("changed", "target", "string")
+        .build();
+    OptionChangeListeners<NestedCompositionOptions> listeners = new OptionChangeListeners<>();
+    List<String> notified = new ArrayList<>();
+    listeners.onChange(changes -> notified.add("source"), "source");
+    listeners.onChange(changes -> notified.add("target"), "target");
+    listeners.onChange(changes -> notified.add("target.string"), "target.string");
+    AutoCloseable removed = listeners.onChange(changes -> notified.add("removed"), "target");
+    OptionDef string = changed.toBuilder().optionsByPath().get("target.string");
+    listeners.onChange(changes -> notified.add("definition"), string);
+    listeners.onChange(changes -> {
+      throw new IllegalStateException("failing listener");
+    }, "target");
+    removed.close();
+
+    listeners.fire(options, changed);
+
+    assertThat(notified, contains("target", "target.string", "definition"));
+  }
+
+  private static NestedCompositionOptions nested(String source, String target) {
+    return OptionsFactory.create(NestedCompositionOptions.class).toBuilder()
+        .withValue(source, "source", "string")
+        .withValue(target, "target", "string")
+        .build();
+  }
+}
@@ -0,0 +1,57 @@
+package io.github.fiserro.options;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNot.not;
+
+import io.github.fiserro.options.test.NestedCompositionOptions;
+import io.github.fiserro.options.test.StringsOptions;
+import org.junit.jupiter.api.Test;
+
+class OptionsModelTest {
+
+  @Test
+  void modelIsComputedOncePerInterface() {
+    NestedCompositionOptions options = OptionsFactory.create(NestedCompositionOptions.class);
+    OptionsModel model = OptionsModel.of(NestedCompositionOptions.class);
+
+    assertThat(options.toBuilder().model(), is(sameInstance(model)));
+    assertThat(OptionsFactory.clone(options).toBuilder().model(), is(sameInstance(model)));
+  }
+
+  @Test
+  void nestedOptionsReuseModelOfTheirPath() {
+    NestedCompositionOptions options = OptionsFactory.create(NestedCompositionOptions.class);
+    OptionsModel model = OptionsModel.of(NestedCompositionOptions.class);
+    OptionsModel source = model.child(model.optionsByName().get("source"));
+    OptionsModel target = model.child(model.optionsByName().get("target"));
+
+    assertThat(options.source().toBuilder().model(), is(sameInstance(source)));
+    assertThat(options.target().toBuilder().model(), is(sameInstance(target)));
+    assertThat(source, is(not(sameInstance(OptionsModel.of(StringsOptions.class)))));
+    assertThat(source.optionsByName().get("string").path(), is(OptionPath.of("source", "string")));
+  }
+
+  @Test
+  void nestedOptionsAreIndexedByDottedPath() {
+    OptionsModel model = OptionsModel.of(NestedCompositionOptions.class);
+
+    assertThat(model.optionsByPath(), hasKey("source"));
+    assertThat(model.optionsByPath(), hasKey("source.string"));
+    assertThat(model.optionsByPath().get("target.string").path(),
+        is(OptionPath.of("target", "string")));
+  }
+
+  @Test
+  void nestedOptionsAreIndexedByNestedKeys() {
+    OptionsModel model = OptionsModel.of(NestedCompositionOptions.class);
+    OptionDef string = model.child(model.optionsByName().get("source")).optionsByName()
+        .get("string");
+
+    assertThat(model.optionsByNestedKey().get("SOURCE__STRING"), is(sameInstance(string)));
+    assertThat(model.optionsByNestedKey().get("source__string"), is(sameInstance(string)));
+    assertThat(model.optionsByNestedKey(), not(hasKey("SOURCE")));
+  }
+}
@@ -0,0 +1,83 @@
+package io.github.fiserro.options;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.github.fiserro.options.test.DefaultWithWither;
+import io.github.fiserro.options.test.NestedCompositionOptions;
+import io.github.fiserro.options.test.StringsOptionsWith;
+import java.util.Collections;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class OverlayTest {
+
+  @Test
+  void overlayReadsChangedValuesBeforeBaseValues() {
+    NestedCompositionOptions base = OptionsFactory.create(NestedCompositionOptions.class,
+        "--source.string=source", "--source.listOfString=a,b", "--target.string=target");
+
+    NestedCompositionOptions overlay = OptionsFactory.overlay(base,
+        Map.of("source.string", "tenant"));
+
+    assertThat(overlay.source().string(), is("tenant"));
+    assertThat(overlay.source().listOfString(), contains("a", "b"));
+    assertThat(overlay.target(), is(sameInstance(base.target())));
+    assertThat(base.source().string(), is("source"));
+    assertThat(overlay, is(base.withValues(Map.of("source.string", "tenant"))));
+  }
+
+  @Test
+  void overlayInterceptsDefaultGetters() {
+    DefaultWithWither base = OptionsFactory.create(DefaultWithWither.class);
+
+    DefaultWithWither overlay = OptionsFactory.overlay(base, Map.of("value", 30));
+    DefaultWithWither reset = OptionsFactory.overlay(overlay, Collections.singletonMap("value", null));
+
+    assertThat(overlay.value(), is(30));
+    assertThat(reset.value(), is(50));
+    assertThat(base.value(), is(50));
+  }
+
+  @Test
+  void overlayOfOverlayMergesChanges() {
+    StringsOptionsWith base = OptionsFactory.create(StringsOptionsWith.class,
+        Map.of("string", "base", "integer", 1));
+
+    StringsOptionsWith overlay = OptionsFactory.overlay(
+        OptionsFactory.overlay(base, Map.of("string", "first")),
+        Map.of("integer", "2"));
+
+    assertThat(overlay.string(), is("first"));
+    assertThat(overlay.integer(), is(2));
+    assertThat(base.string(), is("base"));
+  }
+
+  @Test
+  void overlayIsChangedLikeOtherOptions() {
+    StringsOptionsWith base = OptionsFactory.create(StringsOptionsWith.class,
+        Map.of("string", "base"));
+    StringsOptionsWith overlay = OptionsFactory.overlay(base, Map.of("integer", 3));
+
+    StringsOptionsWith changed = overlay.withString("changed");
+    StringsOptionsWith rebuilt = overlay.toBuilder().build();
+
+    assertThat(changed.string(), is("changed"));
+    assertThat(changed.integer(), is(3));
+    assertThat(overlay.string(), is("base"));
+    assertThat(rebuilt, is(overlay));
+  }
+
+  @Test
+  void invalidKeyIsRejected() {
+    StringsOptionsWith base = OptionsFactory.create(StringsOptionsWith.class);
+
+    assertThrows(IllegalArgumentException.class,
+        () -> OptionsFactory.overlay(base, Map.of("missing", "value")));
+    assertThrows(IllegalArgumentException.class,
+        () -> OptionsFactory.overlay(base, Map.of("string.nested", "value")));
+  }
+}
@@ -0,0 +1,75 @@
+package io.github.fiserro.options;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.github.fiserro.options.test.PrimitiveCollections;
+import jakarta.validation.ConstraintViolation;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+class PrimitiveCollectionsTest {
+
+  @Test
+  void valuesAreParsedToPrimitiveCollections() {
+    PrimitiveCollections options = OptionsFactory.create(PrimitiveCollections.class,
+        "--ints=3,1,2", "--longs=10000000000,-1", "--doubles=0.5,1e3",
+        "--intSet=5,3,5,1", "--longSet=2,2,10000000000");
+
+    assertThat(options.ints(), is(new int[]{3, 1, 2}));
+    assertThat(options.longs(), is(new long[]{10000000000L, -1}));
+    assertThat(options.doubles(), is(new double[]{0.5, 1000}));
+    assertThat(options.intSet(), contains(1, 3, 5));
+    assertThat(options.intSet().contains(3), is(true));
+    assertThat(options.intSet().contains(4), is(false));
+    assertThat(options.longSet(), contains(2L, 10000000000L));
+    assertThat(options.longSet().contains(10000000000L), is(true));
+  }
+
+  @Test
+  void emptyValuesAreParsedToEmptyCollections() {
+    PrimitiveCollections options = create("ints", "", "intSet", "");
+
+    assertThat(options.ints().length, is(0));
+    assertThat(options.intSet().isEmpty(), is(true));
+  }
+
+  @Test
+  void invalidElementIsRejected() {
+    assertThrows(NumberFormatException.class, () -> create("ints", "1,x"));
+  }
+
+  @Test
+  void optionsWithEqualArraysAreEqual() {
+    PrimitiveCollections options1 = create("ints", "1,2", "intSet", "2,1");
+    PrimitiveCollections options2 = create("ints", "1,2", "intSet", "1,2,2");
+
+    assertThat(options1, is(options2));
+    assertThat(options1.hashCode(), is(options2.hashCode()));
+    assertThat(options1.intSet(), is(Set.of(1, 2)));
+    assertThat(options1.toString().contains("[1, 2]"), is(true));
+  }
+
+  @Test
+  void primitiveCollectionsAreValidated() {
+    PrimitiveCollections options = create("ints", "", "longs", "1,2,3,4", "intSet", "1,2,3,3");
+
+    Set<String> violations = options.validate().stream()
+        .map(ConstraintViolation::getPropertyPath)
+        .map(Object::toString)
+        .collect(Collectors.toSet());
+    assertThat(violations, is(Set.of("ints", "longs")));
+  }
+
+  private static PrimitiveCollections create(String... keyValues) {
+    OptionsBuilder<PrimitiveCollections, ?> builder = OptionsFactory.create(
+        PrimitiveCollections.class).toBuilder();
+    for (int i = 0; i < keyValues.length; i += 2) {
+      builder.setValue(keyValues[i], keyValues[i + 1]);
+    }
+    return builder.build();
+  }
+}
@@ -0,0 +1,138 @@
+package io.github.fiserro.options;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.github.fiserro.options.extension.EnvironmentFile;
+import io.github.fiserro.options.extension.OptionsExtensions;
+import io.github.fiserro.options.extension.validation.ValidateOptionsException;
+import io.github.fiserro.options.extension.validation.jakarta.JakartaValidator;
+import jakarta.validation.constraints.Max;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ReloadableOptionsTest {
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  void validOptionsReplaceCurrentOnes() throws IOException {
+    Path envFile = write("RATE_LIMIT=10");
+    try (ReloadableOptions<RateOptions> options = watch(envFile)) {
+      assertThat(options.get().rateLimit(), is(10));
+
+      // the same size and possibly the same modification time
+      write("RATE_LIMIT=20");
+      assertThat(options.reload(), is(true));
+      assertThat(options.get().rateLimit(), is(20));
+    }
+  }
+
+  @Test
+  void invalidOptionsAreNotReloaded() throws IOException {
+    Path envFile = write("RATE_LIMIT=10");
+    try (ReloadableOptions<RateOptions> options = watch(envFile)) {
+      RateOptions current = options.get();
+
+      write("RATE_LIMIT=1000");
+      assertThat(options.reload(), is(false));
+      write("RATE_LIMIT=x");
+      assertThat(options.reload(), is(false));
+      assertThat(options.get(), is(sameInstance(current)));
+    }
+  }
+
+  @Test
+  void listenersAreNotifiedAboutReloadedChanges() throws IOException {
+    Path envFile = write("RATE_LIMIT=10");
+    try (ReloadableOptions<RateOptions> options = watch(envFile)) {
+      List<OptionChange> changes = new CopyOnWriteArrayList<>();
+      options.listeners().onChange(changes::addAll, "rateLimit");
+
+      options.reload();
+      assertThat(changes, is(empty()));
+
+      write("RATE_LIMIT=20");
+      options.reload();
+      assertThat(changes.getLast().oldValue(), is(10));
+      assertThat(changes.getLast().newValue(), is(20));
+    }
+  }
+
+  @Test
+  void invalidInitialOptionsAreRejected() throws IOException {
+    Path envFile = write("RATE_LIMIT=1000");
+    assertThrows(ValidateOptionsException.class, () -> watch(envFile));
+  }
+
+  @Test
+  void changedFileIsReloaded() throws IOException, InterruptedException {
+    Path envFile = write("RATE_LIMIT=10");
+    try (ReloadableOptions<RateOptions> options = watch(envFile)) {
+      write("RATE_LIMIT=30");
+
+      long deadline = System.currentTimeMillis() + 30_000;
+      while (options.get().rateLimit() != 30 && System.currentTimeMillis() < deadline) {
+        Thread.sleep(10);
+      }
+      assertThat(options.get().rateLimit(), is(30));
+    }
+  }
+
+  @Test
+  void unparseableLazyValueDoesNotStopWatching() throws IOException, InterruptedException {
+    Path envFile = write("RATE_LIMIT=10");
+    try (ReloadableOptions<LazyRateOptions> options = ReloadableOptions.watch(
+        LazyRateOptions.class, "--envFile=" + envFile)) {
+      write("RATE_LIMIT=x");
+      assertThat(options.reload(), is(false));
+      // the watcher reloads the unparseable value as well
+      Thread.sleep(500);
+      assertThat(options.get().rateLimit(), is(10));
+
+      write("RATE_LIMIT=30");
+      long deadline = System.currentTimeMillis() + 30_000;
+      while (options.get().rateLimit() != 30 && System.currentTimeMillis() < deadline) {
+        Thread.sleep(10);
+      }
+      assertThat(options.get().rateLimit(), is(30));
+    }
+  }
+
+  private ReloadableOptions<RateOptions> watch(Path envFile) throws IOException {
+    return ReloadableOptions.watch(RateOptions.class, "--envFile=" + envFile);
+  }
+
+  private Path write(String content) throws IOException {
+    // the file is replaced like by the editors, so the watcher never reads it half written
+    Path replacement = Files.writeString(tempDir.resolve("replacement"), content);
+    return Files.move(replacement, tempDir.resolve(".env"), StandardCopyOption.REPLACE_EXISTING,
+        StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  @OptionsExtensions({EnvironmentFile.class, JakartaValidator.class})
+  public interface RateOptions extends Options<RateOptions> {
+
+    @Max(100)
+    @Option
+    int rateLimit();
+  }
+
+  @LazyParsing
+  @OptionsExtensions({EnvironmentFile.class, JakartaValidator.class})
+  public interface LazyRateOptions extends Options<LazyRateOptions> {
+
+    @Option
+    int rateLimit();
+  }
+}
@@ -0,0 +1,134 @@
+package io.github.fiserro.options;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.github.fiserro.options.test.AllOptions;
+import io.github.fiserro.options.test.DefaultWithWither;
+import io.github.fiserro.options.test.DerivedOptions;
+import io.github.fiserro.options.test.FieldBackedOptions;
+import io.github.fiserro.options.test.NestedCompositionOptions;
+import io.github.fiserro.options.test.StringsOptions;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+
+class ScopedOverridesTest {
+
+  @Test
+  void overridesAreReadOnlyInScope() {
+    AllOptions options = OptionsFactory.create(AllOptions.class, "--primitiveInt=1",
+        "--string=base");
+
+    ScopedOverrides.where(options, "primitiveInt", "2")
+        .and(options, "string", null)
+        .run(() -> {
+          assertThat(options.primitiveInt(), is(2));
+          assertThat(options.string(), is(nullValue()));
+          assertThat(options.getValue("primitiveInt"), is(2));
+        });
+
+    assertThat(options.primitiveInt(), is(1));
+    assertThat(options.string(), is("base"));
+  }
+
+  @Test
+  void defaultValuesAndFieldsAreOverridden() throws Exception {
+    DefaultWithWither defaults = OptionsFactory.create(DefaultWithWither.class);
+    FieldBackedOptions fields = OptionsFactory.create(FieldBackedOptions.class,
+        "--primitiveInt=1");
+
+    int value = ScopedOverrides.where(defaults, "value", 10)
+        .and(fields, "primitiveInt", 3)
+        .call(() -> defaults.value() + fields.primitiveInt());
+
+    assertThat(value, is(13));
+    assertThat(defaults.value(), is(50));
+    assertThat(fields.primitiveInt(), is(1));
+  }
+
+  @Test
+  void nestedOptionsOfSameInterfaceAreOverridden() {
+    StringsOptions top = OptionsFactory.create(StringsOptions.class, "--string=top");
+    NestedCompositionOptions nested = OptionsFactory.create(NestedCompositionOptions.class,
+        "--source.string=src", "--target.string=tgt");
+
+    ScopedOverrides.where(top, "string", "override").run(() -> {
+      assertThat(top.string(), is("override"));
+      assertThat(nested.source().string(), is("override"));
+      assertThat(nested.target().string(), is("override"));
+    });
+
+    assertThat(nested.source().string(), is("src"));
+  }
+
+  @Test
+  void innerScopeOverridesOuterScope() {
+    AllOptions options = OptionsFactory.create(AllOptions.class, "--primitiveInt=1",
+        "--primitiveLong=1");
+
+    ScopedOverrides.where(options, "primitiveInt", 2).and(options, "primitiveLong", 2L).run(() -> {
+      ScopedOverrides.where(options, "primitiveInt", 3).run(() -> {
+        assertThat(options.primitiveInt(), is(3));
+        assertThat(options.primitiveLong(), is(2L));
+      });
+      assertThat(options.primitiveInt(), is(2));
+    });
+  }
+
+  @Test
+  void otherThreadsDoNotSeeOverrides() {
+    AllOptions options = OptionsFactory.create(AllOptions.class, "--primitiveInt=1");
+    AtomicReference<Integer> otherThread = new AtomicReference<>();
+
+    ScopedOverrides.where(options, "primitiveInt", 2).run(() -> {
+      Thread thread = Thread.ofVirtual().start(() -> otherThread.set(options.primitiveInt()));
+      try {
+        thread.join();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+
+    assertThat(otherThread.get(), is(1));
+  }
+
+  @Test
+  void invalidOverridesAreRejected() {
+    AllOptions options = OptionsFactory.create(AllOptions.class);
+
+    assertThrows(IllegalArgumentException.class,
+        () -> ScopedOverrides.where(options, "missing", 1));
+    assertThrows(IllegalArgumentException.class,
+        () -> ScopedOverrides.where(options, "primitiveInt", null));
+    assertThrows(IllegalArgumentException.class,
+        () -> ScopedOverrides.where(options, "primitiveInt", 1L));
+  }
+
+  @Test
+  void cachedDerivedValuesAreComputedWithOverrides() {
+    DerivedOptions before = OptionsFactory.create(DerivedOptions.class, Map.of("host", "base"));
+    DerivedOptions inside = OptionsFactory.create(DerivedOptions.class, Map.of("host", "base"));
+    assertThat(before.url(), is("http://base:80"));
+
+    ScopedOverrides.where(before, "host", "scoped").run(() -> {
+      assertThat(before.url(), is("http://scoped:80"));
+      assertThat(inside.url(), is("http://scoped:80"));
+    });
+
+    assertThat(before.url(), is("http://base:80"));
+    assertThat(inside.url(), is("http://base:80"));
+  }
+
+  @Test
+  void optionsWhichDoNotReadOverridesAreRejected() {
+    AllOptions proxy = (AllOptions) Proxy.newProxyInstance(AllOptions.class.getClassLoader(),
+        new Class<?>[]{AllOptions.class}, (instance, method, args) -> null);
+
+    assertThrows(IllegalArgumentException.class,
+        () -> ScopedOverrides.where(proxy, "primitiveInt", 1));
+  }
+}
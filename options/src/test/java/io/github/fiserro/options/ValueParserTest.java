@@ -0,0 +1,57 @@
+package io.github.fiserro.options;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.core.Is.is;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.jupiter.api.Test;
+
+class ValueParserTest {
+
+  @Test
+  void parserIsInstantiatedOnce() {
+    OptionsBuilder<HexOptions, ?> builder = OptionsFactory.create(HexOptions.class)
+        .toBuilder();
+    int instances = HexParser.INSTANCES.get();
+    for (int i = 0; i < 100; i++) {
+      builder.setValue("number", Integer.toHexString(i));
+    }
+
+    assertThat(builder.build().number(), is(99));
+    assertThat(HexParser.INSTANCES.get(), is(instances));
+  }
+
+  @Test
+  void defaultConverterParsesValues() {
+    ValueParserDefault parser = new ValueParserDefault();
+    Function<String, Object> converter = parser.converter(List.class, new Type[]{Integer.class});
+
+    assertThat((List<?>) converter.apply("1,2,3"), contains(1, 2, 3));
+    assertThat(parser.converter(int.class, new Type[0]).apply("42"), is(42));
+    assertThat(parser.parse(Long.class, new Type[0], "42"), is(42L));
+  }
+
+  public interface HexOptions extends Options<HexOptions> {
+
+    @Option(parser = HexParser.class)
+    Integer number();
+  }
+
+  public static class HexParser implements ValueParser {
+
+    static final AtomicInteger INSTANCES = new AtomicInteger();
+
+    public HexParser() {
+      INSTANCES.incrementAndGet();
+    }
+
+    @Override
+    public Object parse(Class<?> type, Type[] genericTypes, String value) {
+      return Integer.parseInt(value, 16);
+    }
+  }
+}
@@ -0,0 +1,48 @@
+package io.github.fiserro.options;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class ValueTokenizerTest {
+
+  @ParameterizedTest
+  @ValueSource(strings = {"a", "a,b,c", "a\\,b,c", "a\\\\,b,c", "a\\\\\\,b", ",a", "a,,b", "a,,",
+      ",,", "\\\\", "a,\\\\", "a\\b", "\\,", "host-1.example.com,host-2.example.com"})
+  void splitsLikeTheRegularExpression(String value) {
+    assertThat(tokenize(value), is(regexSplit(value)));
+  }
+
+  @Test
+  void countsMaximalNumberOfElements() {
+    assertThat(ValueTokenizer.count("a,b\\,c,d,", ','), is(4));
+    assertThat(ValueTokenizer.count("a", ','), is(1));
+  }
+
+  @Test
+  void splitsMapEntriesByFirstKeyValueSeparator() {
+    List<String> entries = new ArrayList<>();
+    ValueTokenizer.entries("a=1,,b=x=y,c\\=d=2,", ',', '=',
+        (key, value) -> entries.add(key + "->" + value));
+
+    assertThat(entries, is(List.of("a->1", "b->x=y", "c\\=d->2")));
+  }
+
+  private static List<String> tokenize(String value) {
+    List<String> elements = new ArrayList<>();
+    ValueTokenizer.tokenize(value, ',', elements::add);
+    return elements;
+  }
+
+  private static List<String> regexSplit(String value) {
+    return Stream.of(value.split("(?<!\\\\),"))
+        .map(element -> element.replace("\\\\", ""))
+        .toList();
+  }
+}
@@ -1,10 +1,14 @@
 package io.github.fiserro.options;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import io.github.fiserro.options.extension.Envio;
 import io.github.fiserro.options.test.DefaultWithWither;
+import io.github.fiserro.options.test.NestedCompositionOptions;
 import io.github.fiserro.options.test.StringsOptionsWith;
 import java.util.Map;
 import org.junit.jupiter.api.Test;
@@ -49,4 +53,40 @@ class WithValueTest {
 
     Envio.clear();
   }
+
+  @Test
+  void valuesAreChangedAtOnce() {
+    NestedCompositionOptions options = OptionsFactory.create(NestedCompositionOptions.class,
+        "--source.string=source", "--target.string=target");
+
+    NestedCompositionOptions changed = options.withValues(Map.of(
+        "source.string", "changed",
+        "source.listOfString", "a,b"));
+
+    assertThat(changed.source().string(), is("changed"));
+    assertThat(changed.source().listOfString(), contains("a", "b"));
+    assertThat(changed.target(), is(sameInstance(options.target())));
+    assertThat(options.source().string(), is("source"));
+  }
+
+  @Test
+  void builderSetsValuesByKeysAndPaths() {
+    NestedCompositionOptions options = OptionsFactory.create(NestedCompositionOptions.class)
+        .toBuilder()
+        .withValues(Map.of("source.string", "source", "TARGET.string", "target"))
+        .build();
+
+    assertThat(options.source().string(), is("source"));
+    assertThat(options.target().string(), is("target"));
+  }
+
+  @Test
+  void invalidKeyIsRejected() {
+    StringsOptionsWith options = OptionsFactory.create(StringsOptionsWith.class);
+
+    assertThrows(IllegalArgumentException.class,
+        () -> options.withValues(Map.of("string", "text", "missing", "value")));
+    assertThrows(IllegalArgumentException.class,
+        () -> options.withValues(Map.of("string.nested", "value")));
+  }
 }
@@ -0,0 +1,95 @@
+package io.github.fiserro.options.benchmark;
+
+import io.github.fiserro.options.ValueParserDefault;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+
+/**
+ * Compares parsing of the collection values by {@link ValueParserDefault} with the previous
+ * implementation splitting the value by the regular expression.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class CollectionParsingBenchmark {
+
+  @Param({"100", "10000", "50000"})
+  private int size;
+
+  private String hosts;
+  private String ids;
+  private Function<String, Object> hostsConverter;
+  private Function<String, Object> idsConverter;
+
+  @Setup
+  public void setUp() {
+    hosts = IntStream.range(0, size)
+        .mapToObj(i -> "host-" + i + ".example.com")
+        .collect(Collectors.joining(","));
+    ids = IntStream.range(0, size)
+        .mapToObj(i -> Long.toString(1_000_000L + i))
+        .collect(Collectors.joining(","));
+    ValueParserDefault parser = new ValueParserDefault();
+    hostsConverter = parser.converter(List.class, new Type[]{String.class});
+    idsConverter = parser.converter(Set.class, new Type[]{Long.class});
+  }
+
+  @Benchmark
+  public Object listOfHosts() {
+    return hostsConverter.apply(hosts);
+  }
+
+  @Benchmark
+  public Object listOfHostsRegex() {
+    return regexSplit(hosts, new ArrayList<>(), element -> element);
+  }
+
+  @Benchmark
+  public Object setOfIds() {
+    return idsConverter.apply(ids);
+  }
+
+  @Benchmark
+  public Object setOfIdsRegex() {
+    return regexSplit(ids, new HashSet<>(), Long::valueOf);
+  }
+
+  private static Collection<Object> regexSplit(String value, Collection<Object> collection,
+      Function<String, Object> converter) {
+    for (String element : value.split("(?<!\\\\),")) {
+      collection.add(converter.apply(element.replace("\\\\", "")));
+    }
+    return collection;
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new org.openjdk.jmh.runner.options.OptionsBuilder()
+        .include(CollectionParsingBenchmark.class.getSimpleName())
+        .build())
+        .run();
+  }
+}
@@ -0,0 +1,52 @@
+package io.github.fiserro.options.benchmark;
+
+import io.github.fiserro.options.OptionsFactory;
+import io.github.fiserro.options.benchmark.NestedOptions200.Level0;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+
+/**
+ * Compares the first (cold) {@link OptionsFactory#create} of the 200 options nested in 4 levels
+ * with the repeated (warm) one reusing the cached model and the generated classes. Every cold
+ * measurement runs in a fresh JVM.
+ *
+ * <p>Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=io.github.fiserro.options.benchmark.CreateBenchmark}.
+ */
+public class CreateBenchmark {
+
+  @Benchmark
+  @BenchmarkMode(Mode.SingleShotTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  @Fork(10)
+  @Warmup(iterations = 0)
+  @Measurement(iterations = 1)
+  public Level0 cold() {
+    return OptionsFactory.create(Level0.class);
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  @Fork(1)
+  @Warmup(iterations = 3, time = 2)
+  @Measurement(iterations = 5, time = 2)
+  public Level0 warm() {
+    return OptionsFactory.create(Level0.class);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new org.openjdk.jmh.runner.options.OptionsBuilder()
+        .include(CreateBenchmark.class.getSimpleName())
+        .build())
+        .run();
+  }
+}
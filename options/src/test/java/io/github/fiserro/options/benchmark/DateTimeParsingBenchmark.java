@@ -0,0 +1,124 @@
+package io.github.fiserro.options.benchmark;
+
+import com.github.sisyphsu.dateparser.DateParserUtils;
+import io.github.fiserro.options.ValueParserDefault;
+import java.lang.reflect.Type;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+
+/**
+ * Compares parsing of the ISO-8601 date and time values by {@link ValueParserDefault} with the
+ * fuzzy date parser used for all the values before, and {@link Duration} with
+ * {@link Duration#parse}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class DateTimeParsingBenchmark {
+
+  private static final String LOCAL_DATE = "2024-02-18";
+  private static final String LOCAL_DATE_TIME = "2024-02-18T23:11:55.123";
+  private static final String OFFSET_DATE_TIME = "2024-02-18T23:11:55+01:00";
+  private static final String DURATION = "PT1H30M15.5S";
+
+  private Function<String, Object> localDateConverter;
+  private Function<String, Object> localDateTimeConverter;
+  private Function<String, Object> offsetDateTimeConverter;
+  private Function<String, Object> dateConverter;
+  private Function<String, Object> instantConverter;
+  private Function<String, Object> durationConverter;
+
+  @Setup
+  public void setUp() {
+    ValueParserDefault parser = new ValueParserDefault();
+    localDateConverter = parser.converter(LocalDate.class, new Type[0]);
+    localDateTimeConverter = parser.converter(LocalDateTime.class, new Type[0]);
+    offsetDateTimeConverter = parser.converter(OffsetDateTime.class, new Type[0]);
+    dateConverter = parser.converter(Date.class, new Type[0]);
+    instantConverter = parser.converter(Instant.class, new Type[0]);
+    durationConverter = parser.converter(Duration.class, new Type[0]);
+  }
+
+  @Benchmark
+  public Object localDate() {
+    return localDateConverter.apply(LOCAL_DATE);
+  }
+
+  @Benchmark
+  public Object localDateFuzzy() {
+    return DateParserUtils.parseDateTime(LOCAL_DATE).toLocalDate();
+  }
+
+  @Benchmark
+  public Object localDateTime() {
+    return localDateTimeConverter.apply(LOCAL_DATE_TIME);
+  }
+
+  @Benchmark
+  public Object localDateTimeFuzzy() {
+    return DateParserUtils.parseDateTime(LOCAL_DATE_TIME);
+  }
+
+  @Benchmark
+  public Object offsetDateTime() {
+    return offsetDateTimeConverter.apply(OFFSET_DATE_TIME);
+  }
+
+  @Benchmark
+  public Object offsetDateTimeFuzzy() {
+    return DateParserUtils.parseOffsetDateTime(OFFSET_DATE_TIME);
+  }
+
+  @Benchmark
+  public Object date() {
+    return dateConverter.apply(OFFSET_DATE_TIME);
+  }
+
+  @Benchmark
+  public Object dateFuzzy() {
+    return DateParserUtils.parseDate(OFFSET_DATE_TIME);
+  }
+
+  @Benchmark
+  public Object instant() {
+    return instantConverter.apply(OFFSET_DATE_TIME);
+  }
+
+  @Benchmark
+  public Object duration() {
+    return durationConverter.apply(DURATION);
+  }
+
+  @Benchmark
+  public Object durationParse() {
+    return Duration.parse(DURATION);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new org.openjdk.jmh.runner.options.OptionsBuilder()
+        .include(DateTimeParsingBenchmark.class.getSimpleName())
+        .build())
+        .run();
+  }
+}
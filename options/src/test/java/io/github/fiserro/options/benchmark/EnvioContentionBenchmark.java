@@ -0,0 +1,140 @@
+package io.github.fiserro.options.benchmark;
+
+import ch.qos.logback.classic.Logger;
+import io.github.fiserro.options.Option;
+import io.github.fiserro.options.Options;
+import io.github.fiserro.options.OptionsFactory;
+import io.github.fiserro.options.extension.Envio;
+import io.github.fiserro.options.extension.EnvironmentVariables;
+import io.github.fiserro.options.extension.OptionsExtensions;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Measures 64 threads creating the options from the environment variables concurrently and
+ * compares the lock-free lookups of {@link Envio} with the previous implementation guarded by one
+ * monitor.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(64)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class EnvioContentionBenchmark {
+
+  private static final List<String> NAMES = List.of("HOST", "PORT", "TIMEOUT", "RETRIES",
+      "USER", "MISSING_1", "MISSING_2", "MISSING_3");
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    ((Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME))
+        .setLevel(ch.qos.logback.classic.Level.WARN);
+    Map.of("HOST", "localhost", "PORT", "8080", "TIMEOUT", "PT5S", "RETRIES", "3",
+        "USER", "admin").forEach((name, value) -> {
+          Envio.setVar(name, value);
+          SynchronizedEnvio.setVar(name, value);
+        });
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    Envio.clear();
+  }
+
+  @Benchmark
+  public EnvOptions createOptions() {
+    return OptionsFactory.create(EnvOptions.class);
+  }
+
+  @Benchmark
+  public int getVar() {
+    int found = 0;
+    for (String name : NAMES) {
+      if (Envio.getVar(name) != null) {
+        found++;
+      }
+    }
+    return found;
+  }
+
+  @Benchmark
+  public int getVarSynchronized() {
+    int found = 0;
+    for (String name : NAMES) {
+      if (SynchronizedEnvio.getVar(name) != null) {
+        found++;
+      }
+    }
+    return found;
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new org.openjdk.jmh.runner.options.OptionsBuilder()
+        .include(EnvioContentionBenchmark.class.getSimpleName())
+        .build())
+        .run();
+  }
+
+  @OptionsExtensions({EnvironmentVariables.class})
+  public interface EnvOptions extends Options<EnvOptions> {
+
+    @Option
+    String host();
+
+    @Option
+    int port();
+
+    @Option
+    String timeout();
+
+    @Option
+    int retries();
+
+    @Option
+    String user();
+
+    @Option
+    String password();
+  }
+
+  /**
+   * The previous implementation of the {@link Envio} overrides guarded by one monitor.
+   */
+  private static final class SynchronizedEnvio {
+
+    private static final Map<String, String> overrides =
+        Collections.synchronizedMap(new HashMap<>());
+
+    static synchronized String getVar(String name) {
+      if (overrides.containsKey(name)) {
+        return overrides.get(name);
+      }
+      return System.getenv(name);
+    }
+
+    static synchronized void setVar(String name, String value) {
+      overrides.put(name, value);
+    }
+  }
+}
@@ -0,0 +1,106 @@
+package io.github.fiserro.options.benchmark;
+
+import io.github.fiserro.options.extension.EnvironmentFileLayer;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+
+/**
+ * Reads the changed .env file of 100k variables, of which 100 are the keys of the options. The
+ * bytes of the file are scanned without creating the strings of the unknown variables, the
+ * previous implementation split the file into the lines and parsed every one of them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class EnvironmentFileBenchmark {
+
+  private static final int VARIABLES = 100_000;
+
+  private final Set<String> keys = IntStream.range(0, 100)
+      .mapToObj(i -> "OPTION_" + i * (VARIABLES / 100))
+      .collect(Collectors.toUnmodifiableSet());
+
+  private Path file;
+  private long modified;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    file = Files.createTempFile("benchmark", ".env");
+    try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+      for (int i = 0; i < VARIABLES; i++) {
+        writer.write("# variable " + i + "\nOPTION_" + i + "=value of the variable " + i + "\n");
+      }
+    }
+  }
+
+  @Setup(Level.Invocation)
+  public void touch() throws IOException {
+    // the cached layer is reused while the file is not changed
+    Files.setLastModifiedTime(file, FileTime.fromMillis(++modified));
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    Files.delete(file);
+  }
+
+  @Benchmark
+  public Map<String, String> mappedKeys() throws IOException {
+    return EnvironmentFileLayer.load(file, EnvironmentFileBenchmark.class, keys).variables();
+  }
+
+  @Benchmark
+  public Map<String, String> mappedAll() throws IOException {
+    return EnvironmentFileLayer.load(file).variables();
+  }
+
+  @Benchmark
+  public Map<String, String> lines() throws IOException {
+    Map<String, String> variables = new HashMap<>();
+    try (Stream<String> lines = Files.lines(file)) {
+      lines
+          .filter(line -> !line.isBlank())
+          .filter(line -> !line.startsWith("#"))
+          .forEach(line -> {
+            int equalsIndex = line.indexOf('=');
+            variables.putIfAbsent(line.substring(0, equalsIndex).trim(),
+                line.substring(equalsIndex + 1));
+          });
+    }
+    return variables;
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new org.openjdk.jmh.runner.options.OptionsBuilder()
+        .include(EnvironmentFileBenchmark.class.getSimpleName())
+        .build())
+        .run();
+  }
+}
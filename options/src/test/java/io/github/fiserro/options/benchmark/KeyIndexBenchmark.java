@@ -0,0 +1,110 @@
+package io.github.fiserro.options.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import io.github.fiserro.options.Option;
+import io.github.fiserro.options.Options;
+import io.github.fiserro.options.OptionsFactory;
+import io.github.fiserro.options.extension.Envio;
+import io.github.fiserro.options.extension.EnvironmentVariables;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.annotation.AnnotationDescription;
+import net.bytebuddy.description.modifier.Visibility;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Creates the options with every option loaded from the environment variable. The options are
+ * nested in groups of 250 options. The key lookups use the precomputed key index, so the time grows
+ * linearly with the number of options.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class KeyIndexBenchmark {
+
+  private static final int GROUP_SIZE = 250;
+
+  @Param({"500", "1000", "2500", "5000"})
+  private int size;
+
+  private Class<?> optionsClass;
+
+  @Setup
+  public void setUp() {
+    ((Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+    DynamicType.Builder<?> builder = options("WideOptions" + size);
+    for (int group = 0; group < size / GROUP_SIZE; group++) {
+      DynamicType.Builder<?> groupBuilder = options("WideOptions" + size + "Group" + group);
+      for (int i = 0; i < GROUP_SIZE; i++) {
+        groupBuilder = option(groupBuilder, "option" + i, String.class);
+        Envio.setVar("GROUP" + group + "__OPTION" + i, "value" + i);
+      }
+      builder = option(builder, "group" + group, load(groupBuilder));
+    }
+    optionsClass = load(builder);
+  }
+
+  private static DynamicType.Builder<?> options(String name) {
+    return new ByteBuddy()
+        .makeInterface(Options.class)
+        .name(KeyIndexBenchmark.class.getPackageName() + "." + name);
+  }
+
+  private static DynamicType.Builder<?> option(DynamicType.Builder<?> builder, String name,
+      Class<?> type) {
+    return builder.defineMethod(name, type, Visibility.PUBLIC)
+        .withoutCode()
+        .annotateMethod(AnnotationDescription.Builder.ofType(Option.class).build());
+  }
+
+  private static Class<?> load(DynamicType.Builder<?> builder) {
+    try (DynamicType.Unloaded<?> unloaded = builder.make()) {
+      return unloaded.load(KeyIndexBenchmark.class.getClassLoader(),
+              ClassLoadingStrategy.Default.INJECTION)
+          .getLoaded();
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    Envio.clear();
+  }
+
+  @Benchmark
+  public Object createFromEnvironment() {
+    return create(optionsClass);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T extends Options<T>> T create(Class<?> optionsClass) {
+    return OptionsFactory.create((Class<T>) optionsClass, List.of(new EnvironmentVariables()));
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new org.openjdk.jmh.runner.options.OptionsBuilder()
+        .include(KeyIndexBenchmark.class.getSimpleName())
+        .build())
+        .run();
+  }
+}
@@ -0,0 +1,721 @@
+package io.github.fiserro.options.benchmark;
+
+import io.github.fiserro.options.Option;
+import io.github.fiserro.options.Options;
+
+/**
+ * Options with 200 options nested in 4 levels used by the benchmarks.
+ */
+public final class NestedOptions200 {
+
+  private NestedOptions200() {
+  }
+
+  public interface Level0 extends Options<Level0> {
+
+    @Option
+    String option0_0();
+
+    @Option
+    int option0_1();
+
+    @Option
+    default long option0_2() {
+      return 2L;
+    }
+
+    @Option
+    boolean option0_3();
+
+    @Option
+    String option0_4();
+
+    @Option
+    int option0_5();
+
+    @Option
+    default long option0_6() {
+      return 6L;
+    }
+
+    @Option
+    boolean option0_7();
+
+    @Option
+    String option0_8();
+
+    @Option
+    int option0_9();
+
+    @Option
+    default long option0_10() {
+      return 10L;
+    }
+
+    @Option
+    boolean option0_11();
+
+    @Option
+    String option0_12();
+
+    @Option
+    int option0_13();
+
+    @Option
+    default long option0_14() {
+      return 14L;
+    }
+
+    @Option
+    boolean option0_15();
+
+    @Option
+    String option0_16();
+
+    @Option
+    int option0_17();
+
+    @Option
+    default long option0_18() {
+      return 18L;
+    }
+
+    @Option
+    boolean option0_19();
+
+    @Option
+    String option0_20();
+
+    @Option
+    int option0_21();
+
+    @Option
+    default long option0_22() {
+      return 22L;
+    }
+
+    @Option
+    boolean option0_23();
+
+    @Option
+    String option0_24();
+
+    @Option
+    int option0_25();
+
+    @Option
+    default long option0_26() {
+      return 26L;
+    }
+
+    @Option
+    boolean option0_27();
+
+    @Option
+    String option0_28();
+
+    @Option
+    int option0_29();
+
+    @Option
+    default long option0_30() {
+      return 30L;
+    }
+
+    @Option
+    boolean option0_31();
+
+    @Option
+    String option0_32();
+
+    @Option
+    int option0_33();
+
+    @Option
+    default long option0_34() {
+      return 34L;
+    }
+
+    @Option
+    boolean option0_35();
+
+    @Option
+    String option0_36();
+
+    @Option
+    int option0_37();
+
+    @Option
+    default long option0_38() {
+      return 38L;
+    }
+
+    @Option
+    boolean option0_39();
+
+    @Option
+    String option0_40();
+
+    @Option
+    int option0_41();
+
+    @Option
+    default long option0_42() {
+      return 42L;
+    }
+
+    @Option
+    boolean option0_43();
+
+    @Option
+    String option0_44();
+
+    @Option
+    int option0_45();
+
+    @Option
+    default long option0_46() {
+      return 46L;
+    }
+
+    @Option
+    boolean option0_47();
+
+    @Option
+    String option0_48();
+
+    @Option
+    Level1 level1();
+  }
+
+  public interface Level1 extends Options<Level1> {
+
+    @Option
+    String option1_0();
+
+    @Option
+    int option1_1();
+
+    @Option
+    default long option1_2() {
+      return 2L;
+    }
+
+    @Option
+    boolean option1_3();
+
+    @Option
+    String option1_4();
+
+    @Option
+    int option1_5();
+
+    @Option
+    default long option1_6() {
+      return 6L;
+    }
+
+    @Option
+    boolean option1_7();
+
+    @Option
+    String option1_8();
+
+    @Option
+    int option1_9();
+
+    @Option
+    default long option1_10() {
+      return 10L;
+    }
+
+    @Option
+    boolean option1_11();
+
+    @Option
+    String option1_12();
+
+    @Option
+    int option1_13();
+
+    @Option
+    default long option1_14() {
+      return 14L;
+    }
+
+    @Option
+    boolean option1_15();
+
+    @Option
+    String option1_16();
+
+    @Option
+    int option1_17();
+
+    @Option
+    default long option1_18() {
+      return 18L;
+    }
+
+    @Option
+    boolean option1_19();
+
+    @Option
+    String option1_20();
+
+    @Option
+    int option1_21();
+
+    @Option
+    default long option1_22() {
+      return 22L;
+    }
+
+    @Option
+    boolean option1_23();
+
+    @Option
+    String option1_24();
+
+    @Option
+    int option1_25();
+
+    @Option
+    default long option1_26() {
+      return 26L;
+    }
+
+    @Option
+    boolean option1_27();
+
+    @Option
+    String option1_28();
+
+    @Option
+    int option1_29();
+
+    @Option
+    default long option1_30() {
+      return 30L;
+    }
+
+    @Option
+    boolean option1_31();
+
+    @Option
+    String option1_32();
+
+    @Option
+    int option1_33();
+
+    @Option
+    default long option1_34() {
+      return 34L;
+    }
+
+    @Option
+    boolean option1_35();
+
+    @Option
+    String option1_36();
+
+    @Option
+    int option1_37();
+
+    @Option
+    default long option1_38() {
+      return 38L;
+    }
+
+    @Option
+    boolean option1_39();
+
+    @Option
+    String option1_40();
+
+    @Option
+    int option1_41();
+
+    @Option
+    default long option1_42() {
+      return 42L;
+    }
+
+    @Option
+    boolean option1_43();
+
+    @Option
+    String option1_44();
+
+    @Option
+    int option1_45();
+
+    @Option
+    default long option1_46() {
+      return 46L;
+    }
+
+    @Option
+    boolean option1_47();
+
+    @Option
+    String option1_48();
+
+    @Option
+    Level2 level2();
+  }
+
+  public interface Level2 extends Options<Level2> {
+
+    @Option
+    String option2_0();
+
+    @Option
+    int option2_1();
+
+    @Option
+    default long option2_2() {
+      return 2L;
+    }
+
+    @Option
+    boolean option2_3();
+
+    @Option
+    String option2_4();
+
+    @Option
+    int option2_5();
+
+    @Option
+    default long option2_6() {
+      return 6L;
+    }
+
+    @Option
+    boolean option2_7();
+
+    @Option
+    String option2_8();
+
+    @Option
+    int option2_9();
+
+    @Option
+    default long option2_10() {
+      return 10L;
+    }
+
+    @Option
+    boolean option2_11();
+
+    @Option
+    String option2_12();
+
+    @Option
+    int option2_13();
+
+    @Option
+    default long option2_14() {
+      return 14L;
+    }
+
+    @Option
+    boolean option2_15();
+
+    @Option
+    String option2_16();
+
+    @Option
+    int option2_17();
+
+    @Option
+    default long option2_18() {
+      return 18L;
+    }
+
+    @Option
+    boolean option2_19();
+
+    @Option
+    String option2_20();
+
+    @Option
+    int option2_21();
+
+    @Option
+    default long option2_22() {
+      return 22L;
+    }
+
+    @Option
+    boolean option2_23();
+
+    @Option
+    String option2_24();
+
+    @Option
+    int option2_25();
+
+    @Option
+    default long option2_26() {
+      return 26L;
+    }
+
+    @Option
+    boolean option2_27();
+
+    @Option
+    String option2_28();
+
+    @Option
+    int option2_29();
+
+    @Option
+    default long option2_30() {
+      return 30L;
+    }
+
+    @Option
+    boolean option2_31();
+
+    @Option
+    String option2_32();
+
+    @Option
+    int option2_33();
+
+    @Option
+    default long option2_34() {
+      return 34L;
+    }
+
+    @Option
+    boolean option2_35();
+
+    @Option
+    String option2_36();
+
+    @Option
+    int option2_37();
+
+    @Option
+    default long option2_38() {
+      return 38L;
+    }
+
+    @Option
+    boolean option2_39();
+
+    @Option
+    String option2_40();
+
+    @Option
+    int option2_41();
+
+    @Option
+    default long option2_42() {
+      return 42L;
+    }
+
+    @Option
+    boolean option2_43();
+
+    @Option
+    String option2_44();
+
+    @Option
+    int option2_45();
+
+    @Option
+    default long option2_46() {
+      return 46L;
+    }
+
+    @Option
+    boolean option2_47();
+
+    @Option
+    String option2_48();
+
+    @Option
+    Level3 level3();
+  }
+
+  public interface Level3 extends Options<Level3> {
+
+    @Option
+    String option3_0();
+
+    @Option
+    int option3_1();
+
+    @Option
+    default long option3_2() {
+      return 2L;
+    }
+
+    @Option
+    boolean option3_3();
+
+    @Option
+    String option3_4();
+
+    @Option
+    int option3_5();
+
+    @Option
+    default long option3_6() {
+      return 6L;
+    }
+
+    @Option
+    boolean option3_7();
+
+    @Option
+    String option3_8();
+
+    @Option
+    int option3_9();
+
+    @Option
+    default long option3_10() {
+      return 10L;
+    }
+
+    @Option
+    boolean option3_11();
+
+    @Option
+    String option3_12();
+
+    @Option
+    int option3_13();
+
+    @Option
+    default long option3_14() {
+      return 14L;
+    }
+
+    @Option
+    boolean option3_15();
+
+    @Option
+    String option3_16();
+
+    @Option
+    int option3_17();
+
+    @Option
+    default long option3_18() {
+      return 18L;
+    }
+
+    @Option
+    boolean option3_19();
+
+    @Option
+    String option3_20();
+
+    @Option
+    int option3_21();
+
+    @Option
+    default long option3_22() {
+      return 22L;
+    }
+
+    @Option
+    boolean option3_23();
+
+    @Option
+    String option3_24();
+
+    @Option
+    int option3_25();
+
+    @Option
+    default long option3_26() {
+      return 26L;
+    }
+
+    @Option
+    boolean option3_27();
+
+    @Option
+    String option3_28();
+
+    @Option
+    int option3_29();
+
+    @Option
+    default long option3_30() {
+      return 30L;
+    }
+
+    @Option
+    boolean option3_31();
+
+    @Option
+    String option3_32();
+
+    @Option
+    int option3_33();
+
+    @Option
+    default long option3_34() {
+      return 34L;
+    }
+
+    @Option
+    boolean option3_35();
+
+    @Option
+    String option3_36();
+
+    @Option
+    int option3_37();
+
+    @Option
+    default long option3_38() {
+      return 38L;
+    }
+
+    @Option
+    boolean option3_39();
+
+    @Option
+    String option3_40();
+
+    @Option
+    int option3_41();
+
+    @Option
+    default long option3_42() {
+      return 42L;
+    }
+
+    @Option
+    boolean option3_43();
+
+    @Option
+    String option3_44();
+
+    @Option
+    int option3_45();
+
+    @Option
+    default long option3_46() {
+      return 46L;
+    }
+
+    @Option
+    boolean option3_47();
+
+    @Option
+    String option3_48();
+
+    @Option
+    int option3_49();
+  }
+}
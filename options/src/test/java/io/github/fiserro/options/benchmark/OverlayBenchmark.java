@@ -0,0 +1,146 @@
+package io.github.fiserro.options.benchmark;
+
+import ch.qos.logback.classic.Logger;
+import io.github.fiserro.options.Option;
+import io.github.fiserro.options.Options;
+import io.github.fiserro.options.OptionsFactory;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Reference;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.annotation.AnnotationDescription;
+import net.bytebuddy.description.modifier.Visibility;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Creates the options of 20k tenants which change 3 values of the same base options. The overlays
+ * keep only the changed values, the full instances are built with all the values. The
+ * {@code bytesPerTenant} counter is the heap taken by the options of one tenant after the garbage
+ * collection. JMH sums the counter over the iterations, so it is measured by one iteration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-XX:+UseSerialGC")
+@Warmup(iterations = 2)
+@Measurement(iterations = 1)
+public class OverlayBenchmark {
+
+  private static final int TENANTS = 20_000;
+  private static final int CHANGES = 3;
+
+  @Param({"32", "200"})
+  private int size;
+
+  private Options<?> base;
+
+  @Setup
+  public void setUp() {
+    ((Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(
+        ch.qos.logback.classic.Level.WARN);
+    DynamicType.Builder<?> builder = new ByteBuddy()
+        .makeInterface(Options.class)
+        .name(OverlayBenchmark.class.getPackageName() + ".TenantOptions" + size);
+    Map<String, Object> values = new HashMap<>();
+    for (int i = 0; i < size; i++) {
+      builder = builder.defineMethod("option" + i, String.class, Visibility.PUBLIC)
+          .withoutCode()
+          .annotateMethod(AnnotationDescription.Builder.ofType(Option.class).build());
+      values.put("option" + i, "value" + i);
+    }
+    try (DynamicType.Unloaded<?> unloaded = builder.make()) {
+      base = create(unloaded.load(OverlayBenchmark.class.getClassLoader(),
+          ClassLoadingStrategy.Default.INJECTION).getLoaded(), values);
+    }
+  }
+
+  @Benchmark
+  public Object overlays(Memory memory) {
+    return memory.retain(tenant -> overlay(base, changes(tenant)));
+  }
+
+  @Benchmark
+  public Object fullInstances(Memory memory) {
+    return memory.retain(tenant -> base.toBuilder().withValues(changes(tenant)).build());
+  }
+
+  private Map<String, Object> changes(int tenant) {
+    Map<String, Object> changes = new HashMap<>();
+    for (int i = 0; i < CHANGES; i++) {
+      changes.put("option" + (tenant + i * 7) % size, "tenant" + tenant);
+    }
+    return changes;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T extends Options<T>> Object overlay(Options<?> base,
+      Map<String, Object> changes) {
+    return OptionsFactory.overlay((T) base, changes);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T extends Options<T>> T create(Class<?> optionsClass,
+      Map<String, Object> values) {
+    return OptionsFactory.create((Class<T>) optionsClass, values);
+  }
+
+  /**
+   * Measures the heap retained by the options of the tenants.
+   */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class Memory {
+
+    public long bytesPerTenant;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      bytesPerTenant = 0;
+    }
+
+    Object[] retain(IntFunction<Object> tenantOptions) {
+      long before = usedHeap();
+      Object[] tenants = new Object[TENANTS];
+      for (int tenant = 0; tenant < TENANTS; tenant++) {
+        tenants[tenant] = tenantOptions.apply(tenant);
+      }
+      bytesPerTenant = (usedHeap() - before) / TENANTS;
+      Reference.reachabilityFence(tenants);
+      return tenants;
+    }
+
+    private static long usedHeap() {
+      for (int i = 0; i < 3; i++) {
+        System.gc();
+      }
+      return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new org.openjdk.jmh.runner.options.OptionsBuilder()
+        .include(OverlayBenchmark.class.getSimpleName())
+        .build())
+        .run();
+  }
+}
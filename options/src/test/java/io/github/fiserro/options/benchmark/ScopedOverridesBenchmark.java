@@ -0,0 +1,100 @@
+package io.github.fiserro.options.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import io.github.fiserro.options.FieldBacked;
+import io.github.fiserro.options.Option;
+import io.github.fiserro.options.Options;
+import io.github.fiserro.options.OptionsFactory;
+import io.github.fiserro.options.ScopedOverrides;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reads the options without the active scope, in the scope of the overrides and with the options
+ * derived by {@code withValue} for the comparison. The getters out of the scope check only the
+ * number of the active scopes, so the {@link FieldBacked} getters stay close to a field read.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ScopedOverridesBenchmark {
+
+  private RequestOptions options;
+  private FieldRequestOptions fieldOptions;
+  private ScopedOverrides overrides;
+
+  @Setup
+  public void setUp() {
+    ((Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+    options = OptionsFactory.create(RequestOptions.class, "--timeout=1000");
+    fieldOptions = OptionsFactory.create(FieldRequestOptions.class, "--timeout=1000");
+    overrides = ScopedOverrides.where(options, "timeout", 10);
+  }
+
+  @Benchmark
+  public long read() {
+    return options.timeout() + options.retries();
+  }
+
+  @Benchmark
+  public long readFieldBacked() {
+    return fieldOptions.timeout() + fieldOptions.retries();
+  }
+
+  @Benchmark
+  public long readInScope() throws Exception {
+    return overrides.call(() -> options.timeout() + options.retries());
+  }
+
+  @Benchmark
+  public long readWithValue() {
+    RequestOptions changed = options.withValue("timeout", 10);
+    return changed.timeout() + changed.retries();
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new org.openjdk.jmh.runner.options.OptionsBuilder()
+        .include(ScopedOverridesBenchmark.class.getSimpleName())
+        .build())
+        .run();
+  }
+
+  public interface RequestOptions extends Options<RequestOptions> {
+
+    @Option
+    int timeout();
+
+    @Option
+    default int retries() {
+      return 3;
+    }
+  }
+
+  @FieldBacked
+  public interface FieldRequestOptions extends Options<FieldRequestOptions> {
+
+    @Option
+    int timeout();
+
+    @Option
+    default int retries() {
+      return 3;
+    }
+  }
+}
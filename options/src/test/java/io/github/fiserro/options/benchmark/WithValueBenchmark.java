@@ -0,0 +1,117 @@
+package io.github.fiserro.options.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import io.github.fiserro.options.Option;
+import io.github.fiserro.options.Options;
+import io.github.fiserro.options.OptionsFactory;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.annotation.AnnotationDescription;
+import net.bytebuddy.description.modifier.Visibility;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Changes one value of the options with all the values set. The {@code withValue} copies only the
+ * path to the changed value in the trie of the values, the rebuild copies all the values and builds
+ * the options again. The {@code withValues} changes 32 values at once, the rebuild of every value
+ * is compared with it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class WithValueBenchmark {
+
+  private static final int CHANGES = 32;
+
+  @Param({"32", "1000"})
+  private int size;
+
+  private Options<?> options;
+  private final Map<String, Object> changes = new HashMap<>();
+  private int next;
+
+  @Setup
+  public void setUp() {
+    ((Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+    DynamicType.Builder<?> builder = new ByteBuddy()
+        .makeInterface(Options.class)
+        .name(WithValueBenchmark.class.getPackageName() + ".WideOptions" + size);
+    Map<String, Object> values = new HashMap<>();
+    for (int i = 0; i < size; i++) {
+      builder = builder.defineMethod("option" + i, String.class, Visibility.PUBLIC)
+          .withoutCode()
+          .annotateMethod(AnnotationDescription.Builder.ofType(Option.class).build());
+      values.put("option" + i, "value" + i);
+    }
+    for (int i = 0; i < CHANGES; i++) {
+      changes.put("option" + i * (size / CHANGES), "changed");
+    }
+    try (DynamicType.Unloaded<?> unloaded = builder.make()) {
+      options = create(unloaded.load(WithValueBenchmark.class.getClassLoader(),
+          ClassLoadingStrategy.Default.INJECTION).getLoaded(), values);
+    }
+  }
+
+  @Benchmark
+  public Object withValue() {
+    return options.withValue(key(), "changed");
+  }
+
+  @Benchmark
+  public Object rebuild() {
+    return options.toBuilder().withValue(key(), "changed").build();
+  }
+
+  @Benchmark
+  public Object withValues() {
+    return options.withValues(changes);
+  }
+
+  @Benchmark
+  public Object rebuildValues() {
+    Options<?> changed = options;
+    for (Map.Entry<String, Object> change : changes.entrySet()) {
+      changed = changed.toBuilder().withValue(change.getKey(), change.getValue()).build();
+    }
+    return changed;
+  }
+
+  private String key() {
+    next = (next + 1) % size;
+    return "option" + next;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T extends Options<T>> T create(Class<?> optionsClass,
+      Map<String, Object> values) {
+    return OptionsFactory.create((Class<T>) optionsClass, values);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new org.openjdk.jmh.runner.options.OptionsBuilder()
+        .include(WithValueBenchmark.class.getSimpleName())
+        .build())
+        .run();
+  }
+}
@@ -0,0 +1,77 @@
+package io.github.fiserro.options.extension;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasEntry;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.core.Is.is;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class EnvioTest {
+
+  @AfterEach
+  void clear() {
+    Envio.clear();
+  }
+
+  @Test
+  void setVarIfMissingDoesNotOverrideValue() {
+    Envio.setVar("ENVIO_TEST", "a");
+    Envio.setVarIfMissing("ENVIO_TEST", "b");
+    assertThat(Envio.getVar("ENVIO_TEST"), is("a"));
+
+    assertThat(Envio.resetVar("ENVIO_TEST"), is("a"));
+    assertThat(Envio.getVar("ENVIO_TEST"), is(nullValue()));
+    Envio.setVarIfMissing("ENVIO_TEST", "c");
+    assertThat(Envio.getVar("ENVIO_TEST"), is("c"));
+  }
+
+  @Test
+  void snapshotIsNotChangedByLaterChanges() {
+    Envio.setVar("ENVIO_TEST", "a");
+    Map<String, String> snapshot = Envio.snapshot();
+
+    Envio.setVar("ENVIO_TEST", "b");
+    Envio.resetVar("ENVIO_OTHER");
+
+    assertThat(snapshot, hasEntry("ENVIO_TEST", "a"));
+    assertThat(Envio.snapshot(), hasEntry("ENVIO_TEST", "b"));
+    assertThat(Envio.snapshot(), not(hasEntry("ENVIO_OTHER", null)));
+  }
+
+  @Test
+  void concurrentChangesAreNotLost() throws Exception {
+    int threads = 16;
+    try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int i = 0; i < threads; i++) {
+        int thread = i;
+        futures.add(executor.submit(() -> {
+          for (int j = 0; j < 100; j++) {
+            Envio.setVar("ENVIO_TEST_" + thread + "_" + j, "value");
+            Envio.setVarIfMissing("ENVIO_TEST_SHARED", "thread" + thread);
+          }
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    }
+
+    Map<String, String> snapshot = Envio.snapshot();
+    for (int i = 0; i < threads; i++) {
+      for (int j = 0; j < 100; j++) {
+        assertThat(snapshot, hasEntry("ENVIO_TEST_" + i + "_" + j, "value"));
+      }
+    }
+    assertThat(Envio.getVar("ENVIO_TEST_SHARED").startsWith("thread"), is(true));
+  }
+}
@@ -0,0 +1,46 @@
+package io.github.fiserro.options.extension;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.hamcrest.core.Is.is;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class EnvironmentFileLayerTest {
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  void layersAreCachedByPathAndOptionsInterface() throws IOException {
+    Path file = Files.writeString(tempDir.resolve("keys.env"), "NAME=value\nOTHER=other\n");
+
+    EnvironmentFileLayer layer = EnvironmentFileLayer.load(file, String.class, Set.of("NAME"));
+
+    assertThat(EnvironmentFileLayer.load(file, String.class, new HashSet<>(Set.of("NAME"))),
+        is(sameInstance(layer)));
+    assertThat(EnvironmentFileLayer.load(file, Integer.class, Set.of("OTHER")),
+        is(not(sameInstance(layer))));
+    assertThat(layer.variables().keySet(), is(Set.of("NAME")));
+  }
+
+  @Test
+  void cachedLayersAreBounded() throws IOException {
+    Path first = Files.writeString(tempDir.resolve("first.env"), "NAME=first\n");
+    EnvironmentFileLayer layer = EnvironmentFileLayer.load(first);
+
+    for (int i = 0; i < 10 * EnvironmentFileLayer.MAX_CACHED_LAYERS; i++) {
+      EnvironmentFileLayer.load(Files.writeString(tempDir.resolve(i + ".env"), "NAME=" + i));
+    }
+
+    assertThat(EnvironmentFileLayer.load(first), is(not(sameInstance(layer))));
+    assertThat(EnvironmentFileLayer.load(first), is(layer));
+  }
+}
@@ -0,0 +1,71 @@
+package io.github.fiserro.options.extension;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MappedEnvironmentFileTest {
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  void readsAllVariablesLikeLines() throws IOException {
+    Path file = write("""
+        # comment
+         NAME = value with spaces\s
+        EQUALS=a=b\r
+        UNICODE=žluťoučký kůň
+
+        NAME=second
+        invalid line
+        =no name
+        EMPTY=""");
+
+    assertThat(MappedEnvironmentFile.read(file, null), is(Map.of(
+        "NAME", " value with spaces ",
+        "EQUALS", "a=b",
+        "UNICODE", "žluťoučký kůň",
+        "EMPTY", "")));
+  }
+
+  @Test
+  void readsOnlyGivenAndReferencedVariables() throws IOException {
+    Path file = write("""
+        UNKNOWN=1
+        BASE=hello
+        NAME=${BASE}
+        OTHER=$UNKNOWN_REF
+        KŮŇ=2
+        """);
+
+    assertThat(MappedEnvironmentFile.read(file, Set.of("NAME", "KŮŇ", "MISSING")), is(Map.of(
+        "NAME", "${BASE}",
+        "BASE", "hello",
+        "KŮŇ", "2")));
+  }
+
+  @Test
+  void readsEmptyFile() throws IOException {
+    assertThat(MappedEnvironmentFile.read(write(""), Set.of("NAME")), is(Map.of()));
+  }
+
+  @Test
+  void readsLargeMappedFile() throws IOException {
+    String filler = "UNKNOWN=" + "x".repeat(100) + "\n";
+    Path file = write(filler.repeat(20_000) + "NAME=last");
+
+    assertThat(MappedEnvironmentFile.read(file, Set.of("NAME")), is(Map.of("NAME", "last")));
+  }
+
+  private Path write(String content) throws IOException {
+    return Files.writeString(tempDir.resolve("test.env"), content);
+  }
+}
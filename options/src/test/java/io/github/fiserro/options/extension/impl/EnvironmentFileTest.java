@@ -1,12 +1,15 @@
 package io.github.fiserro.options.extension.impl;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.hamcrest.core.Is.is;
 
 import io.github.fiserro.options.Option;
 import io.github.fiserro.options.Options;
 import io.github.fiserro.options.OptionsFactory;
 import io.github.fiserro.options.extension.EnvironmentFile;
+import io.github.fiserro.options.extension.EnvironmentFileLayer;
 import io.github.fiserro.options.extension.Envio;
 import io.github.fiserro.options.extension.OptionsExtensions;
 import java.io.IOException;
@@ -186,6 +189,35 @@ class EnvironmentFileTest {
     assertThat(options.stringValue(), is("hello"));
   }
 
+  @Test
+  void fileValuesDoNotChangeGlobalEnvironment() throws IOException {
+    Path first = tempDir.resolve("first.env");
+    Files.writeString(first, "STRING_VALUE=first\n");
+    Path second = tempDir.resolve("second.env");
+    Files.writeString(second, "STRING_VALUE=second\n");
+
+    EnvFileOptions firstOptions = OptionsFactory.create(EnvFileOptions.class, "--envFile=" + first);
+    EnvFileOptions secondOptions = OptionsFactory.create(EnvFileOptions.class,
+        "--envFile=" + second);
+
+    assertThat(firstOptions.stringValue(), is("first"));
+    assertThat(secondOptions.stringValue(), is("second"));
+    assertThat(Envio.getVar("STRING_VALUE"), is(nullValue()));
+  }
+
+  @Test
+  void unchangedFileIsParsedOnce() throws IOException {
+    Path envFile = tempDir.resolve("cached.env");
+    Files.writeString(envFile, "STRING_VALUE=hello\n");
+
+    EnvironmentFileLayer layer = EnvironmentFileLayer.load(envFile);
+    assertThat(EnvironmentFileLayer.load(envFile), is(sameInstance(layer)));
+
+    Files.writeString(envFile, "STRING_VALUE=changed\n");
+    assertThat(EnvironmentFileLayer.load(envFile).variables().get("STRING_VALUE"),
+        is("changed"));
+  }
+
   @OptionsExtensions(EnvironmentFile.class)
   public interface EnvFileOptions extends Options<EnvFileOptions> {
 
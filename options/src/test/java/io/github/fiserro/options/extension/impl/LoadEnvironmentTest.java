@@ -1,11 +1,14 @@
 package io.github.fiserro.options.extension.impl;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.core.Is.is;
 
 import io.github.fiserro.options.OptionsFactory;
 import io.github.fiserro.options.extension.Envio;
 import io.github.fiserro.options.test.AllOptions;
+import io.github.fiserro.options.test.NestedCompositionOptions;
 import org.junit.jupiter.api.Test;
 
 class LoadEnvironmentTest {
@@ -40,4 +43,23 @@ class LoadEnvironmentTest {
     assertThat(options.primitiveInt(), is(10));
   }
 
-}
\ No newline at end of file
+  @Test
+  void nestedOptionsAreFilledFromOneSnapshot() {
+    Envio.setVar("SOURCE__STRING", "source");
+    Envio.setVar("target__string", "target");
+    Envio.setVar("TARGET__LIST_OF_STRING", "a,b");
+
+    NestedCompositionOptions options = OptionsFactory.create(NestedCompositionOptions.class);
+    assertThat(options.source().string(), is("source"));
+    assertThat(options.target().string(), is("target"));
+    assertThat(options.target().listOfString(), contains("a", "b"));
+
+    Envio.resetVar("SOURCE__STRING");
+    Envio.resetVar("target__string");
+    Envio.resetVar("TARGET__LIST_OF_STRING");
+
+    NestedCompositionOptions reset = OptionsFactory.create(NestedCompositionOptions.class);
+    assertThat(reset.source().string(), is(nullValue()));
+  }
+
+}
@@ -2,8 +2,11 @@ package io.github.fiserro.options.test;
 
 import io.github.fiserro.options.Option;
 import io.github.fiserro.options.Options;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
 import java.util.Date;
 import java.util.List;
 import java.util.Set;
@@ -38,6 +41,30 @@ public interface DateTime {
     return DEFAULT_OFFSET_DATE_TIME;
   }
 
+  @Option
+  Instant instant();
+
+  @Option
+  default Instant instantWithDefault() {
+    return Instant.EPOCH;
+  }
+
+  @Option
+  ZonedDateTime zonedDateTime();
+
+  @Option
+  default ZonedDateTime zonedDateTimeWithDefault() {
+    return DEFAULT_OFFSET_DATE_TIME.toZonedDateTime();
+  }
+
+  @Option
+  Duration duration();
+
+  @Option
+  default Duration durationWithDefault() {
+    return Duration.ofSeconds(30);
+  }
+
   @Option
   List<Date> listOfDate();
 
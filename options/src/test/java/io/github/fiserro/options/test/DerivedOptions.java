@@ -0,0 +1,46 @@
+package io.github.fiserro.options.test;
+
+import io.github.fiserro.options.Derived;
+import io.github.fiserro.options.Option;
+import io.github.fiserro.options.Options;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public interface DerivedOptions extends DerivedParent, Options<DerivedOptions> {
+
+  AtomicInteger URL_CALLS = new AtomicInteger();
+  AtomicInteger MISSING_CALLS = new AtomicInteger();
+  AtomicInteger UNCACHED_CALLS = new AtomicInteger();
+
+  @Option
+  String host();
+
+  @Option
+  default int port() {
+    return 80;
+  }
+
+  DerivedOptions withPort(int port);
+
+  @Derived(cached = true)
+  default String url() {
+    URL_CALLS.incrementAndGet();
+    return String.format("http://%s:%d", host(), port());
+  }
+
+  @Derived(cached = true)
+  default String missing() {
+    MISSING_CALLS.incrementAndGet();
+    return null;
+  }
+
+  @Derived(cached = false)
+  default String uncached() {
+    UNCACHED_CALLS.incrementAndGet();
+    return host();
+  }
+
+  @Derived(cached = true)
+  default int hostLength() {
+    return host().length();
+  }
+}
@@ -0,0 +1,17 @@
+package io.github.fiserro.options.test;
+
+import io.github.fiserro.options.Derived;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public interface DerivedParent {
+
+  AtomicInteger SECURE_CALLS = new AtomicInteger();
+
+  String host();
+
+  @Derived(cached = true)
+  default boolean secure() {
+    SECURE_CALLS.incrementAndGet();
+    return host().startsWith("secure");
+  }
+}
@@ -0,0 +1,16 @@
+package io.github.fiserro.options.test;
+
+import io.github.fiserro.options.FieldBacked;
+import io.github.fiserro.options.Options;
+import io.github.fiserro.options.extension.ArgumentsEquals;
+import io.github.fiserro.options.extension.EnvironmentVariables;
+import io.github.fiserro.options.extension.OptionsExtensions;
+
+@FieldBacked
+@OptionsExtensions({ArgumentsEquals.class, EnvironmentVariables.class})
+public interface FieldBackedOptions extends DateTime, DependentDefaults, Enum, Integers, Longs,
+    Strings, Options<FieldBackedOptions> {
+
+  FieldBackedOptions withPrimitiveInt(int primitiveInt);
+
+}
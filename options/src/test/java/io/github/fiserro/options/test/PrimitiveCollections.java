@@ -0,0 +1,39 @@
+package io.github.fiserro.options.test;
+
+import io.github.fiserro.options.IntSet;
+import io.github.fiserro.options.LongSet;
+import io.github.fiserro.options.Option;
+import io.github.fiserro.options.Options;
+import io.github.fiserro.options.extension.ArgumentsEquals;
+import io.github.fiserro.options.extension.OptionsExtensions;
+import io.github.fiserro.options.extension.validation.jakarta.JakartaValidator;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+@OptionsExtensions({ArgumentsEquals.class, JakartaValidator.class})
+public interface PrimitiveCollections extends Options<PrimitiveCollections> {
+
+  @NotEmpty
+  @Option
+  default int[] ints() {
+    return new int[]{1};
+  }
+
+  @Size(max = 3)
+  @Option
+  default long[] longs() {
+    return new long[0];
+  }
+
+  @Option
+  double[] doubles();
+
+  @Size(max = 3)
+  @Option
+  default IntSet intSet() {
+    return IntSet.of();
+  }
+
+  @Option
+  LongSet longSet();
+}